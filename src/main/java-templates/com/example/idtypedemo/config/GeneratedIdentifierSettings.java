@@ -0,0 +1,22 @@
+package com.example.idtypedemo.config;
+
+import java.util.Map;
+
+/**
+ * Identifier settings resolved at build time from application.properties.
+ * Generated by the {@code static-identifier-config} Maven profile; do not edit.
+ * When present, {@link ConfigurationLoader} uses these values instead of reading property files.
+ */
+final class GeneratedIdentifierSettings {
+
+    // Parsed like the runtime sources, so the values are validated and normalized the same way
+    static final IdentifierSettings SETTINGS = IdentifierSettings.from(Map.of(
+            IdentifierSettings.TYPE_KEY, "${identifier.default-type}",
+            IdentifierSettings.USE_NATIVE_TYPES_KEY, "${identifier.use.native.types}",
+            IdentifierSettings.STRING_EQUALITY_CHECK_KEY, "${identifier.string-equality-check}",
+            IdentifierSettings.AUTO_CONVERT_KEY, "${identifier.auto-convert-string-to-long}",
+            IdentifierSettings.STRING_LENGTH_KEY, "${identifier.string.length}")::get);
+
+    private GeneratedIdentifierSettings() {
+    }
+}
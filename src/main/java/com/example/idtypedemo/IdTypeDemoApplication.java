@@ -3,10 +3,13 @@ package com.example.idtypedemo;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import com.example.idtypedemo.config.IdentifierRuntimeHints;
 import com.example.idtypedemo.version.config.VersionTrackingProperties;
 
 @SpringBootApplication
 @EnableConfigurationProperties(VersionTrackingProperties.class)
+@ImportRuntimeHints(IdentifierRuntimeHints.class)
 public class IdTypeDemoApplication {
 
     public static void main(String[] args) {
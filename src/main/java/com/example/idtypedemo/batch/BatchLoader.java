@@ -0,0 +1,167 @@
+package com.example.idtypedemo.batch;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent single-key lookups into batched lookups, DataLoader style.
+ * <p>
+ * The first caller to arrive becomes the leader of a new batch and waits up to the batching
+ * window for more keys. Callers arriving meanwhile add their key to the batch (duplicates share
+ * one entry) and wait for its result. The batch is dispatched by the leader when the window
+ * expires, or right away by the caller that fills it up to the maximum batch size. Dispatch runs
+ * on the dispatching caller's thread, so no executor is involved.
+ * <p>
+ * Only {@link ReentrantLock} and {@link CompletableFuture} are used for coordination, never
+ * {@code synchronized}, so waiting callers do not pin carrier threads when running on virtual threads.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class BatchLoader<K, V> {
+
+    private final Function<Set<K>, Map<K, V>> batchFunction;
+    private final int maxBatchSize;
+    private final long windowNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition batchClosed = lock.newCondition();
+    private Batch<K, V> current;
+
+    /**
+     * @param batchFunction loads the values for a set of keys; keys without a value are left out of the result
+     * @param maxBatchSize  the maximum number of distinct keys per batch; 1 disables batching
+     * @param window        how long the leader waits for further keys before dispatching
+     */
+    public BatchLoader(Function<Set<K>, Map<K, V>> batchFunction, int maxBatchSize, Duration window) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be at least 1: " + maxBatchSize);
+        }
+        this.batchFunction = Objects.requireNonNull(batchFunction, "batchFunction must not be null");
+        this.maxBatchSize = maxBatchSize;
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * Whether lookups are actually coalesced, i.e. the maximum batch size is greater than 1.
+     */
+    public boolean isBatching() {
+        return maxBatchSize > 1;
+    }
+
+    /**
+     * Loads the value for a key as part of a batch.
+     *
+     * @return the value, or {@code null} if the batch function returned none for the key
+     * @throws RuntimeException the exception thrown by the batch function
+     */
+    public V load(K key) {
+        if (maxBatchSize == 1) {
+            return batchFunction.apply(Set.of(key)).get(key);
+        }
+
+        Batch<K, V> batch;
+        CompletableFuture<V> result;
+        boolean leader = false;
+        boolean full = false;
+        lock.lock();
+        try {
+            if (current == null) {
+                current = new Batch<>();
+                leader = true;
+            }
+            batch = current;
+            result = batch.futures.computeIfAbsent(key, k -> new CompletableFuture<>());
+            if (batch.futures.size() >= maxBatchSize) {
+                // The caller filling the batch dispatches it; the leader only has to wait
+                closeCurrent();
+                full = true;
+            } else if (leader) {
+                awaitWindow(batch);
+                if (current == batch) {
+                    closeCurrent();
+                    full = true;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (full) {
+            dispatch(batch);
+        }
+        return join(result);
+    }
+
+    /**
+     * Waits until the window expires or another caller closes the batch. Must hold the lock.
+     */
+    private void awaitWindow(Batch<K, V> batch) {
+        long remaining = windowNanos;
+        while (current == batch && remaining > 0) {
+            try {
+                remaining = batchClosed.awaitNanos(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void closeCurrent() {
+        current = null;
+        batchClosed.signalAll();
+    }
+
+    private void dispatch(Batch<K, V> batch) {
+        Map<K, CompletableFuture<V>> futures = batch.futures;
+        try {
+            Map<K, V> values = batchFunction.apply(Collections.unmodifiableSet(futures.keySet()));
+            futures.forEach((key, future) -> future.complete(values.get(key)));
+        } catch (RuntimeException | Error e) {
+            futures.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Indexes loaded values by key, for batch functions backed by a query returning a collection.
+     */
+    public static <K, V> Map<K, V> index(Collection<V> values, Function<V, K> keyExtractor) {
+        Map<K, V> indexed = new LinkedHashMap<>(values.size() * 2);
+        for (V value : values) {
+            indexed.put(keyExtractor.apply(value), value);
+        }
+        return indexed;
+    }
+
+    /**
+     * Keys of one batch with the futures of their waiting callers, in arrival order.
+     */
+    private static final class Batch<K, V> {
+        private final Map<K, CompletableFuture<V>> futures = new LinkedHashMap<>();
+    }
+}
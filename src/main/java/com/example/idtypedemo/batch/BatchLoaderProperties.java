@@ -0,0 +1,39 @@
+package com.example.idtypedemo.batch;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the batching loader behind {@code PersonService.findById}.
+ */
+@ConfigurationProperties(prefix = "person.batch-loader")
+public class BatchLoaderProperties {
+    private boolean enabled = false;
+    private int maxBatchSize = 100;
+    private Duration window = Duration.ofMillis(2);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+}
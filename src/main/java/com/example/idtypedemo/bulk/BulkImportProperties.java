@@ -0,0 +1,35 @@
+package com.example.idtypedemo.bulk;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the bulk import behind {@code POST /api/persons/batch}.
+ */
+@ConfigurationProperties(prefix = "person.bulk-import")
+public class BulkImportProperties {
+    /**
+     * Number of items persisted per transaction.
+     */
+    private int chunkSize = 1_000;
+    /**
+     * Number of items after which the persistence context is flushed and cleared;
+     * should match {@code hibernate.jdbc.batch_size}.
+     */
+    private int flushInterval = 50;
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(int flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.idtypedemo.bulk;
+
+import com.example.idtypedemo.domain.Identifier;
+
+/**
+ * Outcome of one item of a bulk import.
+ *
+ * @param index   position of the item in the request body, starting at 0
+ * @param id      the provided or generated ID, null if the item could not be read
+ * @param status  the outcome
+ * @param message why the item was not created, null when it was
+ */
+public record BulkItemResult(int index, Identifier id, Status status, String message) {
+
+    public enum Status {
+        /** The person was inserted. */
+        CREATED,
+        /** A person with the same ID already exists, or the ID occurs earlier in the same request. */
+        CONFLICT,
+        /** The item could not be read or is missing required fields. */
+        INVALID,
+        /** The insert failed in the database. */
+        FAILED
+    }
+
+    public static BulkItemResult created(int index, Identifier id) {
+        return new BulkItemResult(index, id, Status.CREATED, null);
+    }
+
+    public static BulkItemResult rejected(int index, Identifier id, Status status, String message) {
+        return new BulkItemResult(index, id, status, message);
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.idtypedemo.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Bounded, read-through in-process cache in front of a repository lookup.
+ * <p>
+ * Concurrent misses on the same key share a single load: the first caller publishes a pending
+ * future and runs the loader on its own thread, other callers for that key wait on the future.
+ * The loader never runs inside a map lock or monitor, so a load blocking on JDBC does not pin
+ * the carrier thread when callers are virtual threads.
+ * <p>
+ * Writes invalidate entries only after the surrounding transaction commits, so readers never
+ * cache a value that is rolled back. An invalidation that races with an in-flight load removes
+ * the pending future, so a load that read the old row is not cached.
+ * <p>
+ * Absent values are not cached. Instances created with {@link #disabled()} pass every
+ * lookup through to the loader.
+ * <p>
+ * The cached instance is shared by every caller. Mutable values, such as detached entities,
+ * are cached with a copier: each lookup then returns its own copy, and the cached instance is
+ * never handed out.
+ *
+ * @param <K> the key type
+ * @param <V> the cached value type
+ */
+public class NearCache<K, V> {
+
+    static final String LOAD_DURATION = "cache.near.load";
+    static final String HIT_RATIO = "cache.near.hit.ratio";
+
+    private final AsyncCache<K, V> cache;
+    private final Timer loadTimer;
+    private final UnaryOperator<V> copier;
+
+    /**
+     * Creates a cache of immutable values and registers its metrics.
+     */
+    public NearCache(String name, long maximumSize, Duration timeToLive, MeterRegistry registry) {
+        this(name, maximumSize, timeToLive, registry, UnaryOperator.identity());
+    }
+
+    /**
+     * Creates a cache and registers its metrics: the standard Caffeine cache meters tagged
+     * {@code cache=name}, the hit ratio, and a load latency histogram.
+     *
+     * @param copier copies the cached value for each lookup
+     */
+    public NearCache(String name, long maximumSize, Duration timeToLive, MeterRegistry registry,
+                     UnaryOperator<V> copier) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(registry, cache.synchronous(), name);
+        this.loadTimer = Timer.builder(LOAD_DURATION)
+                .description("Time spent loading near-cache misses")
+                .tag("cache", name)
+                .publishPercentileHistogram()
+                .register(registry);
+        Gauge.builder(HIT_RATIO, cache, c -> c.synchronous().stats().hitRate())
+                .description("Fraction of near-cache lookups served from the cache")
+                .tag("cache", name)
+                .register(registry);
+        this.copier = copier;
+    }
+
+    /**
+     * Creates a cache without metrics, for caches created per key of an unbounded set,
+     * e.g. per tenant, whose meters would have unbounded tag cardinality.
+     *
+     * @param copier copies the cached value for each lookup
+     */
+    public NearCache(long maximumSize, Duration timeToLive, UnaryOperator<V> copier) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .buildAsync();
+        this.loadTimer = null;
+        this.copier = copier;
+    }
+
+    private NearCache() {
+        this.cache = null;
+        this.loadTimer = null;
+        this.copier = null;
+    }
+
+    /**
+     * Returns a cache that stores nothing and always calls the loader.
+     */
+    public static <K, V> NearCache<K, V> disabled() {
+        return new NearCache<>();
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Returns the cached value for the key, loading it on a miss.
+     *
+     * @param key    the key to look up
+     * @param loader the lookup used on a miss; an empty result is returned but not cached
+     * @return the cached or loaded value, copied if the cache has a copier
+     */
+    public Optional<V> get(K key, Function<? super K, Optional<V>> loader) {
+        if (cache == null) {
+            return loader.apply(key);
+        }
+        CompletableFuture<V> pending = new CompletableFuture<>();
+        CompletableFuture<V> result = cache.get(key, (k, executor) -> pending);
+        if (result == pending) {
+            // This caller won the miss; load outside the map lock and publish the result
+            try {
+                pending.complete(loadTimer == null
+                        ? loader.apply(key).orElse(null)
+                        : loadTimer.record(() -> loader.apply(key).orElse(null)));
+            } catch (RuntimeException | Error e) {
+                pending.completeExceptionally(e);
+                throw e;
+            }
+        }
+        return Optional.ofNullable(join(result)).map(copier);
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Invalidates the key once the current transaction commits, or immediately if no
+     * transaction synchronization is active.
+     */
+    public void invalidateAfterCommit(K key) {
+        if (cache == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.synchronous().invalidate(key);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.synchronous().invalidate(key);
+            }
+        });
+    }
+
+    /**
+     * Invalidates the key immediately.
+     */
+    void invalidate(K key) {
+        if (cache != null) {
+            cache.synchronous().invalidate(key);
+        }
+    }
+
+    /**
+     * Invalidates all entries once the current transaction commits, or immediately if no
+     * transaction synchronization is active.
+     */
+    public void invalidateAllAfterCommit() {
+        if (cache == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.synchronous().invalidateAll();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.synchronous().invalidateAll();
+            }
+        });
+    }
+
+    public long size() {
+        return cache == null ? 0 : cache.synchronous().estimatedSize();
+    }
+}
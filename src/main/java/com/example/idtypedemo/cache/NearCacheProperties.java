@@ -0,0 +1,39 @@
+package com.example.idtypedemo.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the near-cache in front of {@code PersonService.findById}.
+ */
+@ConfigurationProperties(prefix = "person.near-cache")
+public class NearCacheProperties {
+    private boolean enabled = false;
+    private long maximumSize = 10_000;
+    private Duration timeToLive = Duration.ofMinutes(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    public void setTimeToLive(Duration timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+}
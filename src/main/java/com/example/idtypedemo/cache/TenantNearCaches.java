@@ -0,0 +1,100 @@
+package com.example.idtypedemo.cache;
+
+import com.example.idtypedemo.domain.Identifier;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.UnaryOperator;
+
+/**
+ * One {@link NearCache} per tenant, so a hot tenant can only evict its own entries.
+ * <p>
+ * Each tenant's cache is bounded on its own; the number of tenants holding a cache is bounded
+ * as well, dropping the cache of the least recently used tenant first. Per-tenant caches do
+ * not register meters; the number of tenant caches and their total size are published instead.
+ *
+ * @param <K> the key type
+ * @param <V> the cached value type
+ */
+public class TenantNearCaches<K, V> {
+
+    static final String TENANTS = "cache.near.tenants";
+    static final String SIZE = "cache.near.tenants.size";
+
+    private final Cache<Identifier, NearCache<K, V>> caches;
+    private final long maximumSizePerTenant;
+    private final Duration timeToLive;
+    private final UnaryOperator<V> copier;
+
+    public TenantNearCaches(String name, long maximumSizePerTenant, Duration timeToLive, long maximumTenants,
+                            MeterRegistry registry) {
+        this(name, maximumSizePerTenant, timeToLive, maximumTenants, registry, UnaryOperator.identity());
+    }
+
+    /**
+     * @param copier copies the cached value for each lookup, see {@link NearCache}
+     */
+    public TenantNearCaches(String name, long maximumSizePerTenant, Duration timeToLive, long maximumTenants,
+                            MeterRegistry registry, UnaryOperator<V> copier) {
+        this.caches = Caffeine.newBuilder()
+                .maximumSize(maximumTenants)
+                .build();
+        this.maximumSizePerTenant = maximumSizePerTenant;
+        this.timeToLive = timeToLive;
+        this.copier = copier;
+        Gauge.builder(TENANTS, caches, Cache::estimatedSize)
+                .description("Number of tenants with a near-cache")
+                .tag("cache", name)
+                .register(registry);
+        Gauge.builder(SIZE, this, TenantNearCaches::size)
+                .description("Total number of entries in the tenant near-caches")
+                .tag("cache", name)
+                .register(registry);
+    }
+
+    /**
+     * Gets the near-cache of the tenant, creating it on first use.
+     */
+    public NearCache<K, V> forTenant(Identifier tenant) {
+        return caches.get(tenant, t -> new NearCache<>(maximumSizePerTenant, timeToLive, copier));
+    }
+
+    /**
+     * Invalidates the key in every tenant's cache once the current transaction commits.
+     * Used by writes that do not know the tenant of the row they change.
+     */
+    public void invalidateAfterCommit(K key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(key);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(key);
+            }
+        });
+    }
+
+    private void invalidate(K key) {
+        for (NearCache<K, V> cache : caches.asMap().values()) {
+            cache.invalidate(key);
+        }
+    }
+
+    /**
+     * Total number of entries over all tenant caches.
+     */
+    public long size() {
+        long size = 0;
+        for (NearCache<K, V> cache : caches.asMap().values()) {
+            size += cache.size();
+        }
+        return size;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.idtypedemo.config;
+
+import com.example.idtypedemo.batch.BatchLoader;
+import com.example.idtypedemo.batch.BatchLoaderProperties;
+import com.example.idtypedemo.domain.Identifier;
+import com.example.idtypedemo.entity.Person;
+import com.example.idtypedemo.repository.PersonRepository;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the loader that coalesces concurrent {@code PersonService.findById} misses
+ * into one multi-load, see {@code PersonMultiLoadRepository}.
+ * When {@code person.batch-loader.enabled} is false, every key is loaded on its own.
+ */
+@Configuration
+@EnableConfigurationProperties(BatchLoaderProperties.class)
+public class BatchLoaderConfig {
+
+    @Bean
+    public BatchLoader<Identifier, Person> personBatchLoader(BatchLoaderProperties properties,
+                                                             PersonRepository personRepository) {
+        int maxBatchSize = properties.isEnabled() ? properties.getMaxBatchSize() : 1;
+        return new BatchLoader<>(personRepository::findAllByIdAsMap,
+                maxBatchSize, properties.getWindow());
+    }
+}
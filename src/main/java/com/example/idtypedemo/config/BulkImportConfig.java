@@ -0,0 +1,14 @@
+package com.example.idtypedemo.config;
+
+import com.example.idtypedemo.bulk.BulkImportProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the chunked bulk import behind {@code POST /api/persons/batch}.
+ * JDBC batching itself is configured through {@code spring.jpa.properties.hibernate.jdbc.*}.
+ */
+@Configuration
+@EnableConfigurationProperties(BulkImportProperties.class)
+public class BulkImportConfig {
+}
@@ -1,54 +1,85 @@
 package com.example.idtypedemo.config;
 
+import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
+import org.springframework.core.env.PropertyResolver;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PropertiesLoaderUtils;
-import org.springframework.util.ResourceUtils;
+import org.springframework.util.ClassUtils;
 
-import java.io.File;
-import java.io.InputStream;
-import java.net.URL;
+import java.io.IOException;
 import java.util.Properties;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Utility class for loading application configuration from various sources.
- * Attempts to load properties from multiple locations to ensure configuration
- * is available in different deployment scenarios (Spring context, standalone JAR, etc).
+ * Configuration is resolved from the first available source, in this order:
+ * <ol>
+ *     <li>the Spring {@code Environment}, once {@link IdentifierEnvironmentPostProcessor} has bound it</li>
+ *     <li>settings generated at build time into {@code GeneratedIdentifierSettings}
+ *         (Maven profile {@code static-identifier-config})</li>
+ *     <li>property files on the classpath or file system, for standalone use without Spring</li>
+ * </ol>
  */
 public class ConfigurationLoader {
-    
+
     private static final Logger logger = Logger.getLogger(ConfigurationLoader.class.getName());
-    
+
+    static final String GENERATED_SETTINGS_CLASS = "com.example.idtypedemo.config.GeneratedIdentifierSettings";
+
+    private static final String CLASSPATH_PREFIX = "classpath:";
+    private static final String FILE_PREFIX = "file:";
+    private static final String PROFILE_PLACEHOLDER = "${spring.profiles.active}";
+
     // Configuration file paths to try
     private static final String[] CONFIG_LOCATIONS = {
             "classpath:application.properties",
             "classpath:application.yml",
-            "classpath:application-${spring.profiles.active}.properties",
+            "classpath:application-" + PROFILE_PLACEHOLDER + ".properties",
             "file:./application.properties",
             "file:./config/application.properties"
     };
-    
-    // Singleton properties instance
-    private static Properties properties;
-    
+
+    // Immutable snapshot of the loaded configuration, replaced as a whole on reload
+    private static volatile Snapshot snapshot;
+
+    // Spring property resolver the configuration is bound to, null when running standalone
+    private static volatile PropertyResolver boundResolver;
+
+    // Guards snapshot replacement. A lock rather than synchronized, because loading reads files
+    // and a virtual thread blocking inside a monitor would pin its carrier thread
+    private static final ReentrantLock lock = new ReentrantLock();
+
     /**
      * Get a property value from the loaded configuration.
-     * 
+     *
      * @param key the property key
      * @param defaultValue the default value if the property is not found
      * @return the property value or the default value
      */
     public static String getProperty(String key, String defaultValue) {
-        ensurePropertiesLoaded();
-        return properties.getProperty(key, defaultValue);
+        String value = snapshot().lookup().apply(key);
+        return value != null ? value : defaultValue;
     }
-    
+
+    /**
+     * Get the typed identifier settings resolved from the loaded configuration.
+     * The returned instance is immutable and can be held by callers; a {@link #reload()}
+     * publishes a new instance rather than mutating this one.
+     *
+     * @return the resolved identifier settings
+     */
+    public static IdentifierSettings getIdentifierSettings() {
+        return snapshot().identifierSettings();
+    }
+
     /**
      * Get a boolean property value from the loaded configuration.
-     * 
+     *
      * @param key the property key
      * @param defaultValue the default value if the property is not found
      * @return the boolean property value or the default value
@@ -57,121 +88,209 @@ public class ConfigurationLoader {
         String value = getProperty(key, String.valueOf(defaultValue));
         return Boolean.parseBoolean(value);
     }
-    
+
     /**
-     * Ensure that properties are loaded by calling the load method if needed.
+     * Binds the configuration to a Spring property resolver, bypassing file probing entirely.
+     * Identifier settings are resolved once at bind time; other keys are looked up on demand.
+     *
+     * @param propertyResolver the resolver to read configuration from, usually the application Environment
      */
-    private static void ensurePropertiesLoaded() {
-        if (properties == null) {
-            loadProperties();
+    public static void bind(PropertyResolver propertyResolver) {
+        Snapshot bound = boundSnapshot(propertyResolver);
+        lock.lock();
+        try {
+            boundResolver = propertyResolver;
+            snapshot = bound;
+        } finally {
+            lock.unlock();
         }
+        logger.fine("Bound configuration to the Spring environment");
     }
-    
+
     /**
-     * Loads properties from various configuration files.
-     * This method attempts to load properties from multiple locations to ensure
-     * they are available in different deployment scenarios.
+     * Returns the property resolver the configuration is bound to, or {@code null} when running standalone.
+     */
+    static PropertyResolver boundResolver() {
+        return boundResolver;
+    }
+
+    /**
+     * Drops the binding to the Spring property resolver; the configuration is loaded standalone
+     * again on next access.
+     */
+    static void unbind() {
+        lock.lock();
+        try {
+            boundResolver = null;
+            snapshot = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Snapshot boundSnapshot(PropertyResolver propertyResolver) {
+        return new Snapshot(propertyResolver::getProperty, IdentifierSettings.from(propertyResolver::getProperty));
+    }
+
+    /**
+     * Returns the current snapshot, loading it on first access.
      */
-    private static synchronized void loadProperties() {
-        if (properties != null) {
-            return; // Already loaded
+    private static Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            current = loadSnapshot();
         }
-        
-        properties = new Properties();
+        return current;
+    }
+
+    private static Snapshot loadSnapshot() {
+        lock.lock();
+        try {
+            if (snapshot == null) {
+                snapshot = loadStandaloneSnapshot();
+            }
+            return snapshot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Builds a snapshot without Spring. Settings generated at build time take precedence;
+     * property files are then only read if some other key is requested.
+     */
+    private static Snapshot loadStandaloneSnapshot() {
+        FileLookup fileLookup = new FileLookup();
+        IdentifierSettings generated = loadGeneratedSettings();
+        if (generated != null) {
+            logger.fine("Using identifier settings generated at build time");
+            return new Snapshot(fileLookup, generated);
+        }
+        return new Snapshot(fileLookup, IdentifierSettings.from(fileLookup));
+    }
+
+    private static IdentifierSettings loadGeneratedSettings() {
+        ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+        if (!ClassUtils.isPresent(GENERATED_SETTINGS_CLASS, classLoader)) {
+            return null;
+        }
+        try {
+            return (IdentifierSettings) ClassUtils.forName(GENERATED_SETTINGS_CLASS, classLoader)
+                    .getDeclaredField("SETTINGS")
+                    .get(null);
+        } catch (ReflectiveOperationException e) {
+            logger.log(Level.WARNING, "Could not read " + GENERATED_SETTINGS_CLASS, e);
+            return null;
+        }
+    }
+
+    /**
+     * Loads properties from various configuration files.
+     * Each location is resolved with a single strategy: classpath locations through the
+     * default class loader, file locations through the file system.
+     */
+    private static Properties loadProperties() {
+        Properties properties = new Properties();
         boolean loaded = false;
-        
-        // Try all configuration locations
+
         for (String configLocation : CONFIG_LOCATIONS) {
+            String location = resolveProfile(configLocation);
+            if (location == null) {
+                continue; // Skip this location if no profile is active
+            }
+
+            Resource resource = location.startsWith(CLASSPATH_PREFIX)
+                    ? new ClassPathResource(location.substring(CLASSPATH_PREFIX.length()))
+                    : new FileSystemResource(location.substring(FILE_PREFIX.length()));
+            if (!resource.exists()) {
+                continue;
+            }
+
             try {
-                // Replace profile placeholder if present
-                String location = configLocation;
-                if (location.contains("${spring.profiles.active}")) {
-                    String profile = System.getProperty("spring.profiles.active", "");
-                    if (profile.isEmpty()) {
-                        profile = System.getenv("SPRING_PROFILES_ACTIVE");
-                        if (profile == null) profile = "";
-                    }
-                    if (!profile.isEmpty()) {
-                        location = location.replace("${spring.profiles.active}", profile);
-                    } else {
-                        continue; // Skip this location if no profile is active
-                    }
-                }
-                
-                Resource resource = null;
-                
-                // Try different ways to load the resource
-                try {
-                    // First try as classpath resource
-                    if (location.startsWith("classpath:")) {
-                        String path = location.substring("classpath:".length());
-                        resource = new ClassPathResource(path);
-                    }
-                    // Then try as file system resource
-                    else if (location.startsWith("file:")) {
-                        String path = location.substring("file:".length());
-                        resource = new FileSystemResource(path);
-                    }
-                    
-                    // If resource is not found or not readable, try using ResourceUtils
-                    if (resource == null || !resource.exists()) {
-                        URL url = ResourceUtils.getURL(location);
-                        if (url != null) {
-                            resource = new FileSystemResource(new File(url.getPath()));
-                        }
-                    }
-                    
-                    // If still not found, try a direct classpath lookup
-                    if (resource == null || !resource.exists()) {
-                        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
-                        if (classLoader == null) {
-                            classLoader = ConfigurationLoader.class.getClassLoader();
-                        }
-                        
-                        String simplePath = location;
-                        if (simplePath.startsWith("classpath:")) {
-                            simplePath = simplePath.substring("classpath:".length());
-                        } else if (simplePath.startsWith("file:")) {
-                            simplePath = simplePath.substring("file:".length());
-                        }
-                        
-                        InputStream is = classLoader.getResourceAsStream(simplePath);
-                        if (is != null) {
-                            Properties props = new Properties();
-                            props.load(is);
-                            is.close();
-                            properties.putAll(props);
-                            loaded = true;
-                            logger.fine("Loaded properties from " + location + " using classloader");
-                        }
-                    }
-                    
-                    // If resource is found and readable, load it
-                    if (resource != null && resource.exists()) {
-                        Properties props = PropertiesLoaderUtils.loadProperties(resource);
-                        properties.putAll(props);
-                        loaded = true;
-                        logger.fine("Loaded properties from " + location);
-                    }
-                } catch (Exception e) {
-                    logger.log(Level.FINE, "Could not load properties from " + location, e);
-                }
-            } catch (Exception e) {
-                logger.log(Level.FINE, "Error loading properties from " + configLocation, e);
+                properties.putAll(location.endsWith(".yml") ? loadYaml(resource) : PropertiesLoaderUtils.loadProperties(resource));
+                loaded = true;
+                logger.fine("Loaded properties from " + location);
+            } catch (IOException | IllegalStateException e) {
+                logger.log(Level.FINE, "Could not load properties from " + location, e);
             }
         }
-        
+
         if (!loaded) {
             logger.warning("Could not load any properties files. Using default values.");
         }
+        return properties;
     }
-    
+
+    private static String resolveProfile(String location) {
+        if (!location.contains(PROFILE_PLACEHOLDER)) {
+            return location;
+        }
+        String profile = System.getProperty("spring.profiles.active", "");
+        if (profile.isEmpty()) {
+            profile = System.getenv("SPRING_PROFILES_ACTIVE");
+            if (profile == null) profile = "";
+        }
+        return profile.isEmpty() ? null : location.replace(PROFILE_PLACEHOLDER, profile);
+    }
+
+    private static Properties loadYaml(Resource resource) {
+        if (!ClassUtils.isPresent("org.yaml.snakeyaml.Yaml", ConfigurationLoader.class.getClassLoader())) {
+            logger.fine("SnakeYAML is not available, skipping " + resource);
+            return new Properties();
+        }
+        YamlPropertiesFactoryBean yaml = new YamlPropertiesFactoryBean();
+        yaml.setResources(resource);
+        return yaml.getObject();
+    }
+
     /**
      * Reloads all properties, discarding any previously loaded values.
      * This is useful for testing or when configuration has changed.
+     * When bound to a Spring property resolver, the settings are resolved from it again;
+     * the binding is kept.
+     * <p>
+     * The new snapshot is built completely before it is published, so concurrent readers
+     * see either the old or the new configuration, never a partially loaded one.
+     * Components that captured {@link IdentifierSettings} earlier keep their values;
+     * in particular, an {@code IdentifierType} stays bound to the column mapping of its
+     * session factory and only instances created after the reload observe the new settings.
+     */
+    public static void reload() {
+        lock.lock();
+        try {
+            PropertyResolver resolver = boundResolver;
+            snapshot = resolver != null ? boundSnapshot(resolver) : loadStandaloneSnapshot();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Snapshot(Function<String, String> lookup, IdentifierSettings identifierSettings) {
+    }
+
+    /**
+     * Property file lookup that reads the files on first use only.
      */
-    public static synchronized void reload() {
-        properties = null;
-        ensurePropertiesLoaded();
+    private static final class FileLookup implements Function<String, String> {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile Properties properties;
+
+        @Override
+        public String apply(String key) {
+            Properties loaded = properties;
+            if (loaded == null) {
+                lock.lock();
+                try {
+                    if (properties == null) {
+                        properties = loadProperties();
+                    }
+                    loaded = properties;
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return loaded.getProperty(key);
+        }
     }
-} 
\ No newline at end of file
+}
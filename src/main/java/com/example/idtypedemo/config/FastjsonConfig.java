@@ -6,6 +6,7 @@ import com.example.idtypedemo.domain.Identifier;
 import com.example.idtypedemo.fastjson.IdentifierFastjsonDeserializer;
 import com.example.idtypedemo.fastjson.IdentifierFastjsonSerializer;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.NativeDetector;
 
 import jakarta.annotation.PostConstruct;
 
@@ -20,5 +21,11 @@ public class FastjsonConfig {
         // 注册到全局实例，确保全局生效
         SerializeConfig.getGlobalInstance().put(Identifier.class, new IdentifierFastjsonSerializer());
         ParserConfig.getGlobalInstance().putDeserializer(Identifier.class, new IdentifierFastjsonDeserializer());
+
+        // native image中无法加载运行时生成的ASM字节码，退回到反射实现
+        if (NativeDetector.inNativeImage()) {
+            SerializeConfig.getGlobalInstance().setAsmEnable(false);
+            ParserConfig.getGlobalInstance().setAsmEnable(false);
+        }
     }
 } 
\ No newline at end of file
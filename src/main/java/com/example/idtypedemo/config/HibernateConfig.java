@@ -1,28 +1,34 @@
 package com.example.idtypedemo.config;
 
-import com.example.idtypedemo.type.DatabaseTypeResolver;
+import com.example.idtypedemo.entity.PersistableInterceptor;
 import com.example.idtypedemo.type.IdentifierType;
-import org.hibernate.boot.model.TypeContributions;
-import org.hibernate.boot.model.TypeContributor;
-import org.hibernate.service.ServiceRegistry;
+import com.example.idtypedemo.type.IdentifierTypeContributor;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
- * Configuration class for registering custom Hibernate types.
+ * Configuration class for registering custom Hibernate types and the entity interceptor.
  */
 @Configuration
 public class HibernateConfig {
     
+    /**
+     * Hands the Spring-configured {@link IdentifierType} to the service-loaded
+     * {@link IdentifierTypeContributor}, which registers it as the type of every {@code Identifier}
+     * attribute. JPA test slices import this configuration through their test configuration.
+     */
     @Bean
-    public TypeContributor identifierTypeContributor(
-            DatabaseTypeResolver databaseTypeResolver,
-            IdentifierProperties identifierProperties) {
-        return new TypeContributor() {
-            @Override
-            public void contribute(TypeContributions typeContributions, ServiceRegistry serviceRegistry) {
-                typeContributions.contributeType(new IdentifierType(databaseTypeResolver, identifierProperties));
-            }
-        };
+    public HibernatePropertiesCustomizer identifierTypeContributor(IdentifierType identifierType) {
+        return properties -> properties.put(IdentifierTypeContributor.IDENTIFIER_TYPE, identifierType);
     }
-} 
\ No newline at end of file
+
+    /**
+     * Lets persons with an assigned ID but no version be persisted; see {@link PersistableInterceptor}.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer persistableInterceptor() {
+        return properties -> properties.put(AvailableSettings.INTERCEPTOR, new PersistableInterceptor());
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.idtypedemo.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+/**
+ * Binds {@link ConfigurationLoader} to the Spring Environment as soon as it is prepared.
+ * Hibernate instantiates {@code IdentifierType} reflectively while the EntityManagerFactory
+ * is built, which happens after this point, so the type reads its settings from the
+ * already resolved Environment instead of probing property files itself.
+ */
+public class IdentifierEnvironmentPostProcessor implements EnvironmentPostProcessor, Ordered {
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        ConfigurationLoader.bind(environment);
+    }
+
+    @Override
+    public int getOrder() {
+        // Run after the config data (application.properties, profiles) has been loaded
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
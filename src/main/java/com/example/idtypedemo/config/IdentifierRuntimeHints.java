@@ -0,0 +1,72 @@
+package com.example.idtypedemo.config;
+
+import com.example.idtypedemo.domain.Identifier;
+import com.example.idtypedemo.domain.view.PersonSummary;
+import com.example.idtypedemo.entity.Department;
+import com.example.idtypedemo.entity.Person;
+import com.example.idtypedemo.entity.Tenant;
+import com.example.idtypedemo.fastjson.IdentifierFastjsonDeserializer;
+import com.example.idtypedemo.fastjson.IdentifierFastjsonSerializer;
+import com.example.idtypedemo.jackson.IdentifierJacksonModule;
+import com.example.idtypedemo.jackson.IdentifierJsonDeserializer;
+import com.example.idtypedemo.jackson.IdentifierJsonSerializer;
+import com.example.idtypedemo.type.CustomIdentifierGenerator;
+import com.example.idtypedemo.type.IdentifierJavaTypeDescriptor;
+import com.example.idtypedemo.type.IdentifierType;
+import com.example.idtypedemo.type.IdentifierTypeContributor;
+import com.example.idtypedemo.version.aspect.VersionTrackingAspect;
+import com.example.idtypedemo.version.collector.VersionInfoCollector;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+/**
+ * Native-image hints for the parts of the identifier stack that are reached reflectively
+ * and therefore not discovered by Spring AOT processing:
+ * <ul>
+ *     <li>Hibernate instantiates {@link IdentifierTypeContributor} through the {@code ServiceLoader},
+ *         and {@link CustomIdentifierGenerator} from the {@code @GenericGenerator} strategy name</li>
+ *     <li>Jackson resolves {@link Identifier} through its {@code @JsonCreator}/{@code @JsonValue} methods</li>
+ *     <li>Fastjson and Jackson codecs are looked up by class</li>
+ *     <li>the version tracking aspect reads {@code @Id}/{@code @Version} fields of the entities</li>
+ *     <li>{@link ConfigurationLoader} reads {@code GeneratedIdentifierSettings.SETTINGS} and the property files</li>
+ * </ul>
+ */
+public class IdentifierRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.reflection()
+                .registerType(IdentifierType.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.DECLARED_FIELDS)
+                .registerType(CustomIdentifierGenerator.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)
+                .registerType(IdentifierTypeContributor.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)
+                .registerType(IdentifierJavaTypeDescriptor.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)
+                .registerType(Identifier.class, MemberCategory.INVOKE_PUBLIC_METHODS, MemberCategory.DECLARED_FIELDS)
+                .registerType(IdentifierJacksonModule.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)
+                .registerType(IdentifierJsonSerializer.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)
+                .registerType(IdentifierJsonDeserializer.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)
+                .registerType(IdentifierFastjsonSerializer.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)
+                .registerType(IdentifierFastjsonDeserializer.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)
+                .registerType(VersionTrackingAspect.class, MemberCategory.INVOKE_DECLARED_METHODS)
+                .registerType(VersionInfoCollector.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+
+        // VersionInfoCollector walks the declared fields of the entities to find @Id and @Version
+        for (Class<?> entity : new Class<?>[] {Person.class, Department.class, Tenant.class}) {
+            hints.reflection().registerType(entity, MemberCategory.DECLARED_FIELDS);
+        }
+
+        // JPQL constructor expressions instantiate projections reflectively
+        hints.reflection().registerType(PersonSummary.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+        // Only present when built with -Pstatic-identifier-config; the hint is ignored otherwise
+        hints.reflection().registerType(TypeReference.of(ConfigurationLoader.GENERATED_SETTINGS_CLASS),
+                MemberCategory.DECLARED_FIELDS);
+
+        hints.resources()
+                .registerPattern("application*.properties")
+                .registerPattern("application*.yml")
+                .registerPattern("application.conf")
+                .registerPattern("META-INF/services/org.hibernate.boot.model.TypeContributor");
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.idtypedemo.config;
+
+import com.example.idtypedemo.domain.Identifier;
+
+import java.util.Locale;
+import java.util.Properties;
+import java.util.function.Function;
+
+/**
+ * Immutable, fully resolved snapshot of the identifier configuration.
+ * Values are parsed once when the snapshot is built, so consumers on the row path
+ * read plain fields instead of looking up and parsing properties on every call.
+ *
+ * @param type                    the identifier type used for column mapping
+ * @param useNativeTypes          whether the native column type (BIGINT/VARCHAR) is used
+ * @param stringEqualityCheck     whether "123" and 123L are considered equal
+ * @param autoConvertStringToLong whether numeric strings are converted to Long identifiers
+ * @param stringLength            the maximum length of string identifiers
+ */
+public record IdentifierSettings(
+        Identifier.Type type,
+        boolean useNativeTypes,
+        boolean stringEqualityCheck,
+        boolean autoConvertStringToLong,
+        int stringLength) {
+
+    // Same keys as bound by IdentifierProperties, so every source reads the application's own configuration
+    public static final String TYPE_KEY = "identifier.default-type";
+    public static final String USE_NATIVE_TYPES_KEY = "identifier.use.native.types";
+    public static final String STRING_EQUALITY_CHECK_KEY = "identifier.string-equality-check";
+    public static final String AUTO_CONVERT_KEY = "identifier.auto-convert-string-to-long";
+    public static final String STRING_LENGTH_KEY = "identifier.string.length";
+
+    public static final IdentifierSettings DEFAULTS =
+            new IdentifierSettings(Identifier.Type.LONG, true, true, true, 255);
+
+    /**
+     * Resolves a snapshot from raw configuration properties, using {@link #DEFAULTS} for missing keys.
+     */
+    public static IdentifierSettings from(Properties properties) {
+        return from(properties::getProperty);
+    }
+
+    /**
+     * Resolves a snapshot from a key lookup returning {@code null} for missing keys,
+     * using {@link #DEFAULTS} for those.
+     */
+    public static IdentifierSettings from(Function<String, String> lookup) {
+        String type = lookup.apply(TYPE_KEY);
+        return new IdentifierSettings(
+                type == null ? DEFAULTS.type() : parseType(type),
+                parseBoolean(lookup.apply(USE_NATIVE_TYPES_KEY), DEFAULTS.useNativeTypes()),
+                parseBoolean(lookup.apply(STRING_EQUALITY_CHECK_KEY), DEFAULTS.stringEqualityCheck()),
+                parseBoolean(lookup.apply(AUTO_CONVERT_KEY), DEFAULTS.autoConvertStringToLong()),
+                parseInt(lookup.apply(STRING_LENGTH_KEY), DEFAULTS.stringLength()));
+    }
+
+    /**
+     * Resolves a snapshot from Spring-bound {@link IdentifierProperties}.
+     */
+    public static IdentifierSettings from(IdentifierProperties properties, boolean useNativeTypes, int stringLength) {
+        return new IdentifierSettings(
+                parseType(properties.getDefaultType()),
+                useNativeTypes,
+                properties.isStringEqualityCheck(),
+                properties.isAutoConvertStringToLong(),
+                stringLength);
+    }
+
+    public boolean isLongType() {
+        return type == Identifier.Type.LONG;
+    }
+
+    public boolean isStringType() {
+        return type == Identifier.Type.STRING;
+    }
+
+    private static Identifier.Type parseType(String value) {
+        try {
+            return Identifier.Type.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported identifier type: " + value, e);
+        }
+    }
+
+    private static boolean parseBoolean(String value, boolean defaultValue) {
+        return value == null ? defaultValue : Boolean.parseBoolean(value.trim());
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        return value == null ? defaultValue : Integer.parseInt(value.trim());
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.idtypedemo.config;
+
+import com.example.idtypedemo.cache.NearCache;
+import com.example.idtypedemo.cache.NearCacheProperties;
+import com.example.idtypedemo.domain.Identifier;
+import com.example.idtypedemo.entity.Person;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the near-cache used by {@code PersonService.findById}.
+ * When {@code person.near-cache.enabled} is false, lookups go straight to the repository.
+ * Each lookup gets its own copy of the cached person.
+ */
+@Configuration
+@EnableConfigurationProperties(NearCacheProperties.class)
+public class NearCacheConfig {
+
+    @Bean
+    public NearCache<Identifier, Person> personNearCache(NearCacheProperties properties, MeterRegistry registry) {
+        if (!properties.isEnabled()) {
+            return NearCache.disabled();
+        }
+        return new NearCache<>("person", properties.getMaximumSize(), properties.getTimeToLive(), registry,
+                Person::copy);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.idtypedemo.config;
+
+import com.example.idtypedemo.type.IdentifierR2dbcCodec;
+import com.example.idtypedemo.type.IdentifierType;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * R2DBC configuration for the reactive Person API.
+ * The connection factory itself is configured through {@code spring.r2dbc.*}.
+ */
+@Configuration
+public class R2dbcConfig {
+
+    /**
+     * Codec that maps identifiers with the same settings as the JPA {@link IdentifierType}.
+     */
+    @Bean
+    public IdentifierR2dbcCodec identifierR2dbcCodec(IdentifierType identifierType) {
+        return new IdentifierR2dbcCodec(identifierType.getSettings());
+    }
+}
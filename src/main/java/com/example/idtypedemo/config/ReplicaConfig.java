@@ -0,0 +1,88 @@
+package com.example.idtypedemo.config;
+
+import com.example.idtypedemo.replica.ReadWriteRoutingDataSource;
+import com.example.idtypedemo.replica.ReplicaLagGuard;
+import com.example.idtypedemo.replica.ReplicaProperties;
+import com.example.idtypedemo.replica.ReplicaSessionFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+/**
+ * Configuration of the read replica. With {@code person.replica.enabled}, the primary DataSource
+ * routes read-only transactions to the replica; otherwise {@link JdbcConfig} declares a plain
+ * pool and the lag guard tracks nothing.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaConfig {
+
+    @Bean
+    public ReplicaLagGuard replicaLagGuard(ReplicaProperties properties) {
+        if (!properties.isEnabled()) {
+            return ReplicaLagGuard.disabled();
+        }
+        return new ReplicaLagGuard(properties.getReadYourWritesWindow(), properties.getMaximumTracked());
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = "person.replica", name = "enabled", havingValue = "true")
+    static class Routing {
+
+        @Bean
+        @ConfigurationProperties("spring.datasource.hikari")
+        public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+            HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            primary.setPoolName("primary");
+            return primary;
+        }
+
+        @Bean
+        public HikariDataSource replicaDataSource(ReplicaProperties properties, DataSourceProperties dataSourceProperties) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica");
+            replica.setJdbcUrl(properties.getUrl());
+            replica.setUsername(properties.getUsername() != null ? properties.getUsername() : dataSourceProperties.determineUsername());
+            replica.setPassword(properties.getPassword() != null ? properties.getPassword() : dataSourceProperties.determinePassword());
+            if (properties.isInitializeSchema()) {
+                DatabasePopulatorUtils.execute(new ResourceDatabasePopulator(new ClassPathResource("schema.sql")), replica);
+            }
+            return replica;
+        }
+
+        @Bean
+        @Primary
+        public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                     @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                     ReplicaLagGuard replicaLagGuard) {
+            LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+                    new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagGuard));
+            // Avoids fetching a connection, possibly from the replica, just to read the defaults
+            dataSource.setDefaultAutoCommit(true);
+            dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+            return dataSource;
+        }
+
+        @Bean
+        public FilterRegistrationBean<ReplicaSessionFilter> replicaSessionFilter(ReplicaProperties properties) {
+            FilterRegistrationBean<ReplicaSessionFilter> registration =
+                    new FilterRegistrationBean<>(new ReplicaSessionFilter(properties));
+            registration.addUrlPatterns("/api/*");
+            return registration;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.idtypedemo.config;
+
+import com.example.idtypedemo.repository.ShardedPersonRepository;
+import com.example.idtypedemo.shard.ShardResolver;
+import com.example.idtypedemo.shard.ShardRoutingDataSource;
+import com.example.idtypedemo.shard.ShardingProperties;
+import com.example.idtypedemo.type.IdentifierR2dbcCodec;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration of the person shards, one database per {@code person.sharding.urls} entry.
+ * The shards are separate from the primary DataSource used by JPA; they are only reached
+ * through {@link ShardedPersonRepository}.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+@ConditionalOnProperty(prefix = "person.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(ShardingProperties properties) {
+        if (properties.getUrls().isEmpty()) {
+            throw new IllegalStateException("person.sharding.urls must list at least one shard");
+        }
+        List<DataSource> shards = new ArrayList<>();
+        for (int i = 0; i < properties.getUrls().size(); i++) {
+            HikariDataSource shard = new HikariDataSource();
+            shard.setPoolName("shard-" + i);
+            shard.setJdbcUrl(properties.getUrls().get(i));
+            shard.setUsername(properties.getUsername());
+            shard.setPassword(properties.getPassword());
+            if (properties.isInitializeSchema()) {
+                DatabasePopulatorUtils.execute(new ResourceDatabasePopulator(new ClassPathResource("schema-shard.sql")), shard);
+            }
+            shards.add(shard);
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+
+    @Bean
+    public ShardResolver shardResolver(ShardingProperties properties) {
+        return new ShardResolver(properties.getUrls().size());
+    }
+
+    @Bean
+    public ShardedPersonRepository shardedPersonRepository(ShardRoutingDataSource shardRoutingDataSource,
+                                                           ShardResolver shardResolver, IdentifierR2dbcCodec codec) {
+        return new ShardedPersonRepository(shardRoutingDataSource, shardResolver, codec);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.idtypedemo.config;
+
+import com.example.idtypedemo.cache.TenantNearCaches;
+import com.example.idtypedemo.domain.Identifier;
+import com.example.idtypedemo.entity.Person;
+import com.example.idtypedemo.tenant.TenantFilter;
+import com.example.idtypedemo.tenant.TenantProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of tenant-scoped access under {@code /api/tenants/{tenantId}}.
+ */
+@Configuration
+@EnableConfigurationProperties(TenantProperties.class)
+public class TenantConfig {
+
+    @Bean
+    public TenantNearCaches<Identifier, Person> tenantPersonNearCaches(TenantProperties properties,
+                                                                      MeterRegistry registry) {
+        return new TenantNearCaches<>("person", properties.getNearCacheMaximumSize(),
+                properties.getNearCacheTimeToLive(), properties.getMaximumCachedTenants(), registry, Person::copy);
+    }
+
+    @Bean
+    public FilterRegistrationBean<TenantFilter> tenantFilter(TenantProperties properties) {
+        FilterRegistrationBean<TenantFilter> registration = new FilterRegistrationBean<>(new TenantFilter(properties));
+        registration.addUrlPatterns("/api/tenants/*");
+        return registration;
+    }
+}
@@ -1,13 +1,24 @@
 package com.example.idtypedemo.controller;
 
+import com.example.idtypedemo.bulk.BulkItemResult;
 import com.example.idtypedemo.domain.Identifier;
 import com.example.idtypedemo.entity.Person;
+import com.example.idtypedemo.service.PersonBulkService;
+import com.example.idtypedemo.service.PersonExportService;
 import com.example.idtypedemo.service.PersonService;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -17,10 +28,17 @@ import java.util.stream.Collectors;
 public class PersonController {
 
     private final PersonService personService;
+    private final PersonBulkService personBulkService;
+    private final PersonExportService personExportService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public PersonController(PersonService personService) {
+    public PersonController(PersonService personService, PersonBulkService personBulkService,
+                            PersonExportService personExportService, ObjectMapper objectMapper) {
         this.personService = personService;
+        this.personBulkService = personBulkService;
+        this.personExportService = personExportService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
@@ -30,6 +48,16 @@ public class PersonController {
         return ResponseEntity.ok(sortedPersons);
     }
 
+    /**
+     * Streams all persons as newline-delimited JSON, without loading them into memory.
+     */
+    @GetMapping("/export")
+    public void exportPersons(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        personExportService.exportPersons(response.getOutputStream());
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Person> getPersonById(@PathVariable Identifier id) {
         return personService.findById(id)
@@ -43,6 +71,18 @@ public class PersonController {
         return new ResponseEntity<>(personService.save(person), HttpStatus.CREATED);
     }
     
+    /**
+     * Creates many persons at once from a JSON array or from newline-delimited JSON.
+     * The body is read item by item while earlier chunks are inserted, so it is never held in memory.
+     */
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<List<BulkItemResult>> createPersons(InputStream body) throws IOException {
+        // A root-level array is unwrapped, so both formats yield one Person per item
+        try (MappingIterator<Person> persons = objectMapper.readerFor(Person.class).readValues(body)) {
+            return ResponseEntity.ok(personBulkService.importAll(persons));
+        }
+    }
+    
     @PostMapping("/long/{id}")
     public ResponseEntity<Person> createPersonWithLongId(@PathVariable Long id, @RequestBody Person person) {
         person.setId(Identifier.of(id));
@@ -55,22 +95,37 @@ public class PersonController {
         return new ResponseEntity<>(personService.save(person), HttpStatus.CREATED);
     }
 
+    /**
+     * Updates a person without loading it, so there is no entity to return.
+     * When the request carries a version, the update matched exactly that version,
+     * and the new version is returned as the ETag.
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<Person> updatePerson(@PathVariable Identifier id, @RequestBody Person person) {
-        return personService.findById(id)
-                .map(existingPerson -> {
-                    person.setId(id);
-                    return ResponseEntity.ok(personService.save(person));
-                })
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<Void> updatePerson(@PathVariable Identifier id, @RequestBody Person person) {
+        // Single UPDATE; a missing row and a stale version both affect zero rows
+        if (personService.update(id, person) == 0) {
+            return ResponseEntity.notFound().build();
+        }
+        if (person.getVersion() == null) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.noContent().eTag(Long.toString(person.getVersion() + 1)).build();
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deletePerson(@PathVariable Identifier id) {
-        if (personService.findById(id).isPresent()) {
-            personService.deleteById(id);
-            return ResponseEntity.noContent().build();
+    public ResponseEntity<Void> deletePerson(@PathVariable Identifier id,
+                                             @RequestParam(required = false) Long version) {
+        if (personService.delete(id, version) == 0) {
+            return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.notFound().build();
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * A person created with the ID of an existing person, or referring to a missing department.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Void> handleDataIntegrityViolation() {
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
     }
-} 
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package com.example.idtypedemo.controller;
 
+import com.example.idtypedemo.domain.view.PersonSummary;
 import com.example.idtypedemo.domain.view.PersonView;
 import com.example.idtypedemo.entity.Person;
 import com.example.idtypedemo.service.PersonService;
@@ -8,6 +9,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * Controller to demonstrate handling of nested Person objects.
  */
@@ -31,6 +34,14 @@ public class PersonViewController {
         return new ResponseEntity<>(personView, HttpStatus.CREATED);
     }
 
+    /**
+     * Lists all persons as flat summaries, read with a DTO projection instead of entities.
+     */
+    @GetMapping
+    public ResponseEntity<List<PersonSummary>> getPersonSummaries() {
+        return ResponseEntity.ok(personService.findAllSummaries());
+    }
+
     @GetMapping("/example")
     public ResponseEntity<PersonView> getExamplePersonView() {
         // Create an example PersonView for documentation/testing
@@ -0,0 +1,43 @@
+package com.example.idtypedemo.controller;
+
+import com.example.idtypedemo.domain.Identifier;
+import com.example.idtypedemo.entity.Person;
+import com.example.idtypedemo.service.ReactivePersonService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive variant of the read endpoints of {@link PersonController}.
+ * Lists are streamed as newline-delimited JSON; the servlet thread is released while rows
+ * are fetched, and the next row is only requested once the previous one has been written.
+ */
+@RestController
+@RequestMapping("/api/reactive/persons")
+public class ReactivePersonController {
+
+    private final ReactivePersonService reactivePersonService;
+
+    public ReactivePersonController(ReactivePersonService reactivePersonService) {
+        this.reactivePersonService = reactivePersonService;
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Person> streamAllPersons() {
+        return reactivePersonService.findAll();
+    }
+
+    @GetMapping(params = "name", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Person> streamPersonsByName(@RequestParam String name) {
+        return reactivePersonService.findByName(name);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Person>> getPersonById(@PathVariable Identifier id) {
+        return reactivePersonService.findById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.idtypedemo.controller;
+
+import com.example.idtypedemo.domain.Identifier;
+import com.example.idtypedemo.entity.Person;
+import com.example.idtypedemo.service.TenantPersonService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Tenant-scoped variant of {@link PersonController}.
+ * The tenant in the path is bound by {@code TenantFilter} before the request gets here.
+ */
+@RestController
+@RequestMapping("/api/tenants/{tenantId}/persons")
+public class TenantPersonController {
+
+    private final TenantPersonService tenantPersonService;
+
+    public TenantPersonController(TenantPersonService tenantPersonService) {
+        this.tenantPersonService = tenantPersonService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<Person>> getAllPersons() {
+        return ResponseEntity.ok(tenantPersonService.findAll());
+    }
+
+    @GetMapping(params = "name")
+    public ResponseEntity<List<Person>> getPersonsByName(@RequestParam String name) {
+        return ResponseEntity.ok(tenantPersonService.findByName(name));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Person> getPersonById(@PathVariable Identifier id) {
+        return tenantPersonService.findById(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping
+    public ResponseEntity<Person> createPerson(@RequestBody Person person) {
+        return tenantPersonService.create(person)
+                .map(created -> new ResponseEntity<>(created, HttpStatus.CREATED))
+                .orElse(ResponseEntity.status(HttpStatus.CONFLICT).build());
+    }
+}
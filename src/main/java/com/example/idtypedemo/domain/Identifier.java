@@ -71,6 +71,13 @@ public final class Identifier implements Serializable, Comparable<Identifier> {
         return new Identifier(value, Type.STRING);
     }
     
+    /**
+     * Factory method to create a String-based identifier as-is, without auto-conversion to Long
+     */
+    public static Identifier ofString(String value) {
+        return new Identifier(value, Type.STRING);
+    }
+    
     /**
      * Factory method that creates an identifier based on the configured default type
      */
@@ -0,0 +1,20 @@
+package com.example.idtypedemo.domain.view;
+
+import com.example.idtypedemo.domain.Identifier;
+
+/**
+ * Closed interface projection of a person for read-only listings.
+ * Spring Data selects only these columns and returns detached tuples, so nothing enters the
+ * persistence context. A record whose constructor parameters are named after
+ * {@code Person} properties can be passed to the same repository methods instead.
+ */
+public interface PersonContact {
+
+    Identifier getId();
+
+    String getName();
+
+    String getEmail();
+
+    Integer getAge();
+}
@@ -0,0 +1,18 @@
+package com.example.idtypedemo.domain.view;
+
+import com.example.idtypedemo.domain.Identifier;
+
+/**
+ * Flat, read-only projection of a person with the name of its department.
+ * Built directly by a JPQL constructor expression, so no entity or proxy is instantiated.
+ *
+ * @param id             the person ID
+ * @param name           the person name
+ * @param email          the email address
+ * @param age            the age
+ * @param departmentId   the department ID, null if the person has no department
+ * @param departmentName the department name, null if the person has no department
+ */
+public record PersonSummary(Identifier id, String name, String email, Integer age,
+                            Identifier departmentId, String departmentName) {
+}
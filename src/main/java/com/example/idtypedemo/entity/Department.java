@@ -1,7 +1,6 @@
 package com.example.idtypedemo.entity;
 
 import com.example.idtypedemo.domain.Identifier;
-import com.example.idtypedemo.type.IdentifierType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
@@ -10,11 +9,16 @@ import jakarta.persistence.OneToMany;
 import jakarta.persistence.CascadeType;
 import java.util.ArrayList;
 import java.util.List;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.Type;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.GenericGenerator;
 import jakarta.persistence.GeneratedValue;
 
@@ -24,6 +28,8 @@ import jakarta.persistence.GeneratedValue;
  */
 @Entity
 @Table(name = "department")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "department")
+@BatchSize(size = 100)
 @Data
 @Builder
 @NoArgsConstructor
@@ -31,7 +37,6 @@ import jakarta.persistence.GeneratedValue;
 public class Department {
     
     @Id
-    @Type(IdentifierType.class)
     @Column(name = "id")
     @GeneratedValue(generator = "custom-identifier")
     @GenericGenerator(name = "custom-identifier", strategy = "com.example.idtypedemo.type.CustomIdentifierGenerator")
@@ -43,7 +48,22 @@ public class Department {
     @Column(name = "description")
     private String description;
     
+    /**
+     * Unbounded, so it is neither serialized nor part of equals/hashCode/toString;
+     * query persons by department instead of walking this collection.
+     */
     @Builder.Default
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @BatchSize(size = 100)
     @OneToMany(mappedBy = "department", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Person> people = new ArrayList<>();
+
+    /**
+     * Copies the columns of this department, without its people.
+     */
+    public Department copy() {
+        return Department.builder().id(id).name(name).description(description).build();
+    }
 } 
\ No newline at end of file
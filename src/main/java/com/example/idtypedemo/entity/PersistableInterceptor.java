@@ -0,0 +1,19 @@
+package com.example.idtypedemo.entity;
+
+import org.hibernate.Interceptor;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Lets {@link Persistable} entities tell Hibernate whether they are new.
+ * <p>
+ * Hibernate otherwise decides from the version and, for a versioned entity with a generated ID,
+ * refuses an instance that carries an ID but no version. That is how every person with an ID
+ * assigned by the caller arrives.
+ */
+public class PersistableInterceptor implements Interceptor {
+
+    @Override
+    public Boolean isTransient(Object entity) {
+        return entity instanceof Persistable<?> persistable ? persistable.isNew() : null;
+    }
+}
@@ -1,29 +1,50 @@
 package com.example.idtypedemo.entity;
 
 import com.example.idtypedemo.domain.Identifier;
-import com.example.idtypedemo.type.IdentifierType;
+import com.example.idtypedemo.tenant.TenantEntityListener;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.Type;
+import lombok.ToString;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.FilterDef;
+import org.hibernate.annotations.ParamDef;
 import org.hibernate.annotations.GenericGenerator;
+import org.springframework.data.domain.Persistable;
 
 /**
  * Example entity that uses the Identifier type for its ID field.
- * The column definition is resolved at runtime based on configuration.
+ * The column definition is resolved at runtime based on configuration; so are the types of the
+ * identifier columns in the indexes, which only name their columns.
  */
 @Entity
-@Table(name = "person")
+@Table(name = "person", indexes = {
+        @Index(name = "idx_person_name", columnList = "name"),
+        @Index(name = "idx_person_email", columnList = "email"),
+        @Index(name = "idx_person_age", columnList = "age"),
+        @Index(name = "idx_person_department", columnList = "department_id"),
+        // Tenant-scoped lookups; also serves as the index of the tenant column on its own
+        @Index(name = "idx_person_tenant_id", columnList = "_tenantId, id")
+})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "person")
+@FilterDef(name = Tenant.FILTER, parameters = @ParamDef(name = Tenant.FILTER_PARAMETER, type = Identifier.class))
+@Filter(name = Tenant.FILTER, condition = "_tenant_id = :" + Tenant.FILTER_PARAMETER)
+@EntityListeners(TenantEntityListener.class)
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class Person {
+public class Person implements Persistable<Identifier> {
     
     @Id
-    @Type(IdentifierType.class)
     @Column(name = "id")
     @GeneratedValue(generator = "custom-identifier")
     @GenericGenerator(name = "custom-identifier", strategy = "com.example.idtypedemo.type.CustomIdentifierGenerator")
@@ -37,9 +58,18 @@ public class Person {
     
     @Column(name = "age")
     private Integer age;
+
+    @Version
+    @Column(name = "version")
+    private Long version;
     
+    /**
+     * Lazy; list and lookup queries fetch it through the {@code department} entity graph, and
+     * proxies left uninitialized are loaded in batches of the {@link Department} batch size.
+     */
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "department_id")
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
     private Department department;
 
     @Embedded
@@ -47,4 +77,49 @@ public class Person {
             @AttributeOverride(name="id",column = @Column(name="_tenantId"))
     )
     private Tenant tenant;
+
+    /**
+     * Whether this instance was loaded or persisted by Hibernate. IDs may be assigned by the
+     * caller and rows written before versioning have no version, so neither tells new persons apart.
+     */
+    @Transient
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean persisted;
+
+    /**
+     * Decides between persist and merge, for Spring Data as well as for Hibernate through
+     * {@link PersistableInterceptor}.
+     */
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+
+    /**
+     * Copies this person for a caller of a cache, so callers never share a mutable instance.
+     * The department and tenant are copied too; a department proxy that was never initialized
+     * is copied as its ID only.
+     */
+    public Person copy() {
+        Person copy = new Person(id, name, email, age, version, null, null, persisted);
+        if (department != null) {
+            copy.department = Hibernate.isInitialized(department)
+                    ? department.copy()
+                    : Department.builder().id(department.getId()).build();
+        }
+        if (tenant != null) {
+            copy.tenant = new Tenant();
+            copy.tenant.setId(tenant.getId());
+        }
+        return copy;
+    }
 } 
\ No newline at end of file
@@ -2,14 +2,22 @@ package com.example.idtypedemo.entity;
 
 
 import com.example.idtypedemo.domain.Identifier;
-import com.example.idtypedemo.type.IdentifierType;
 import jakarta.persistence.Embeddable;
 import lombok.Data;
-import org.hibernate.annotations.Type;
 
+/**
+ * Tenant a row belongs to, stored in the {@code _tenant_id} column.
+ * Queries of the tenant-scoped repository are restricted to one tenant by the {@link #FILTER} filter.
+ */
 @Embeddable
 @Data
 public class Tenant {
-    @Type(IdentifierType.class)
+    /**
+     * Name of the Hibernate filter restricting persons to the tenant given as {@link #FILTER_PARAMETER}.
+     */
+    public static final String FILTER = "tenantFilter";
+    public static final String FILTER_PARAMETER = "tenantId";
+
+
     private Identifier id;
 }
@@ -0,0 +1,68 @@
+package com.example.idtypedemo.replica;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread routing state read by {@link ReadWriteRoutingDataSource}: the client session bound by
+ * {@link ReplicaSessionFilter}, and whether reads are pinned to the primary.
+ */
+public final class ReplicaContext {
+
+    private static final ThreadLocal<String> SESSION = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+    private ReplicaContext() {
+    }
+
+    /**
+     * Gets the client session of the current request, or null if none.
+     */
+    public static String session() {
+        return SESSION.get();
+    }
+
+    /**
+     * Binds the client session to the current thread.
+     *
+     * @return the previously bound session, to be passed to {@link #restoreSession}
+     */
+    public static String bindSession(String session) {
+        String previous = SESSION.get();
+        SESSION.set(session);
+        return previous;
+    }
+
+    /**
+     * Restores the session returned by {@link #bindSession}.
+     */
+    public static void restoreSession(String previous) {
+        if (previous == null) {
+            SESSION.remove();
+        } else {
+            SESSION.set(previous);
+        }
+    }
+
+    /**
+     * Whether connections acquired by the current thread must come from the primary.
+     */
+    public static boolean isPrimaryRequired() {
+        return PRIMARY.get() != null;
+    }
+
+    /**
+     * Runs the action with all connections it acquires taken from the primary, even in
+     * read-only transactions. Connections already held by the thread are not switched.
+     */
+    public static <T> T callOnPrimary(Supplier<T> action) {
+        if (isPrimaryRequired()) {
+            return action.get();
+        }
+        PRIMARY.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            PRIMARY.remove();
+        }
+    }
+}
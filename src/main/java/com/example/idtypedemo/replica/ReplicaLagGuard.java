@@ -0,0 +1,106 @@
+package com.example.idtypedemo.replica;
+
+import com.example.idtypedemo.domain.Identifier;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Remembers recent writes so reads that could observe replication lag go to the primary.
+ * <p>
+ * A write is recorded once its transaction commits, together with the client session bound to
+ * {@link ReplicaContext}. For the read-your-writes window afterwards, lookups of the written ID
+ * and every read of that session use the primary.
+ */
+public class ReplicaLagGuard {
+
+    private static final ReplicaLagGuard DISABLED = new ReplicaLagGuard();
+
+    private final Cache<Identifier, Boolean> recentIds;
+    private final Cache<String, Boolean> recentSessions;
+
+    public ReplicaLagGuard(Duration readYourWritesWindow, long maximumTracked) {
+        this.recentIds = Caffeine.newBuilder()
+                .maximumSize(maximumTracked)
+                .expireAfterWrite(readYourWritesWindow)
+                .build();
+        this.recentSessions = Caffeine.newBuilder()
+                .maximumSize(maximumTracked)
+                .expireAfterWrite(readYourWritesWindow)
+                .build();
+    }
+
+    private ReplicaLagGuard() {
+        this.recentIds = null;
+        this.recentSessions = null;
+    }
+
+    /**
+     * Returns a guard that tracks nothing, used when there is no replica.
+     */
+    public static ReplicaLagGuard disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Records a write of the ID by the current session once the current transaction commits,
+     * or right away outside a transaction.
+     */
+    public void recordWriteAfterCommit(Identifier id) {
+        recordWritesAfterCommit(List.of(id));
+    }
+
+    /**
+     * Records writes of the IDs by the current session once the current transaction commits,
+     * or right away outside a transaction. Used by bulk writes, with one synchronization per transaction.
+     */
+    public void recordWritesAfterCommit(Collection<Identifier> ids) {
+        if (recentIds == null || ids.isEmpty()) {
+            return;
+        }
+        String session = ReplicaContext.session();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record(ids, session);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                record(ids, session);
+            }
+        });
+    }
+
+    private void record(Collection<Identifier> ids, String session) {
+        for (Identifier id : ids) {
+            recentIds.put(id, Boolean.TRUE);
+        }
+        if (session != null) {
+            recentSessions.put(session, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Whether the ID was written within the read-your-writes window.
+     */
+    public boolean isRecentlyWritten(Identifier id) {
+        return recentIds != null && recentIds.getIfPresent(id) != null;
+    }
+
+    /**
+     * Whether connections acquired now must come from the primary: reads are pinned by
+     * {@link ReplicaContext#callOnPrimary}, or the current session wrote within the window.
+     */
+    public boolean isPrimaryRequired() {
+        if (ReplicaContext.isPrimaryRequired()) {
+            return true;
+        }
+        String session = ReplicaContext.session();
+        return session != null && recentSessions != null && recentSessions.getIfPresent(session) != null;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.idtypedemo.replica;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the read replica serving read-only transactions.
+ */
+@ConfigurationProperties(prefix = "person.replica")
+public class ReplicaProperties {
+    private boolean enabled = false;
+    private String url;
+    private String username;
+    private String password;
+    /**
+     * How long after a committed write reads of the written person, and all reads of the
+     * writing session, go to the primary. Should exceed the usual replication lag.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+    /**
+     * Request header identifying the client session for read-your-writes.
+     */
+    private String sessionHeader = "X-Session-Id";
+    /**
+     * Maximum number of recently written IDs and sessions remembered; older ones go to the replica early.
+     */
+    private long maximumTracked = 100_000;
+    /**
+     * Whether to create the schema on the replica at startup, for local replicas without replication.
+     */
+    private boolean initializeSchema = false;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public Duration getReadYourWritesWindow() {
+        return readYourWritesWindow;
+    }
+
+    public void setReadYourWritesWindow(Duration readYourWritesWindow) {
+        this.readYourWritesWindow = readYourWritesWindow;
+    }
+
+    public String getSessionHeader() {
+        return sessionHeader;
+    }
+
+    public void setSessionHeader(String sessionHeader) {
+        this.sessionHeader = sessionHeader;
+    }
+
+    public long getMaximumTracked() {
+        return maximumTracked;
+    }
+
+    public void setMaximumTracked(long maximumTracked) {
+        this.maximumTracked = maximumTracked;
+    }
+
+    public boolean isInitializeSchema() {
+        return initializeSchema;
+    }
+
+    public void setInitializeSchema(boolean initializeSchema) {
+        this.initializeSchema = initializeSchema;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.idtypedemo.replica;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Binds the client session given in the {@code person.replica.session-header} request header to
+ * {@link ReplicaContext}, so a client reads its own writes from the primary.
+ */
+public class ReplicaSessionFilter extends OncePerRequestFilter {
+
+    private final String sessionHeader;
+
+    public ReplicaSessionFilter(ReplicaProperties properties) {
+        this.sessionHeader = properties.getSessionHeader();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String previous = ReplicaContext.bindSession(request.getHeader(sessionHeader));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReplicaContext.restoreSession(previous);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.idtypedemo.repository;
+
+import com.example.idtypedemo.domain.Identifier;
+import com.example.idtypedemo.entity.Person;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads persons by several IDs through Hibernate's multi-load, which first looks them up in the
+ * persistence context and the second-level cache and only queries the remaining ones, in batches.
+ * <p>
+ * IDs are matched by their string form, so {@code "123"} and {@code 123L} find the same person
+ * whichever equality mode {@link Identifier} is configured with.
+ */
+public interface PersonMultiLoadRepository {
+
+    /**
+     * Find persons by ID, together with their departments; each person is returned once and
+     * IDs without a person are left out.
+     */
+    List<Person> findAllById(Iterable<Identifier> ids);
+
+    /**
+     * Find persons by ID, together with their departments.
+     *
+     * @return one element per given ID, in the same order; {@code null} where no person exists
+     */
+    List<Person> findAllByIdInOrder(Collection<Identifier> ids);
+
+    /**
+     * Find persons by ID, keyed by the given IDs; IDs without a person are left out.
+     */
+    default Map<Identifier, Person> findAllByIdAsMap(Collection<Identifier> ids) {
+        Map<Identifier, Person> persons = new HashMap<>(ids.size() * 2);
+        Iterator<Person> loaded = findAllByIdInOrder(ids).iterator();
+        for (Identifier id : ids) {
+            Person person = loaded.next();
+            if (person != null) {
+                persons.put(id, person);
+            }
+        }
+        return persons;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.idtypedemo.repository;
+
+import com.example.idtypedemo.domain.Identifier;
+import com.example.idtypedemo.entity.Person;
+import com.example.idtypedemo.type.IdentifierJavaTypeDescriptor;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.graph.GraphSemantic;
+import org.hibernate.graph.RootGraph;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link PersonMultiLoadRepository} on {@code Session.byMultipleIds}.
+ * <p>
+ * The given IDs are de-duplicated by their string form and converted to the form loaded entities
+ * carry (numeric strings become long identifiers), so the session and second-level cache lookups
+ * find entities whatever form the caller passed. Hibernate returns the results in the order of
+ * the de-duplicated IDs, which are then mapped back to the given IDs.
+ */
+@Transactional(readOnly = true)
+public class PersonMultiLoadRepositoryImpl implements PersonMultiLoadRepository {
+
+    private final EntityManager entityManager;
+    private final int batchSize;
+
+    /**
+     * @param batchSize the maximum number of IDs per query, {@code person.multi-load.batch-size}
+     */
+    public PersonMultiLoadRepositoryImpl(EntityManager entityManager,
+                                         @Value("${person.multi-load.batch-size:100}") int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("person.multi-load.batch-size must be at least 1: " + batchSize);
+        }
+        this.entityManager = entityManager;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public List<Person> findAllById(Iterable<Identifier> ids) {
+        List<Identifier> idList = new ArrayList<>();
+        ids.forEach(idList::add);
+
+        Set<Person> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Person> persons = new ArrayList<>(idList.size());
+        for (Person person : findAllByIdInOrder(idList)) {
+            if (person != null && seen.add(person)) {
+                persons.add(person);
+            }
+        }
+        return persons;
+    }
+
+    @Override
+    public List<Person> findAllByIdInOrder(Collection<Identifier> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<String, Identifier> distinctIds = new LinkedHashMap<>(ids.size() * 2);
+        for (Identifier id : ids) {
+            distinctIds.computeIfAbsent(id.asString(), key -> id.isLong() ? id : IdentifierJavaTypeDescriptor.INSTANCE.fromString(key));
+        }
+
+        Session session = entityManager.unwrap(Session.class);
+        RootGraph<Person> graph = session.createEntityGraph(Person.class);
+        graph.addAttributeNodes("department");
+        List<Person> loaded = session.byMultipleIds(Person.class)
+                .with(graph, GraphSemantic.LOAD)
+                .with(CacheMode.NORMAL)
+                .withBatchSize(batchSize)
+                .enableSessionCheck(true)
+                .enableOrderedReturn(true)
+                .multiLoad(new ArrayList<>(distinctIds.values()));
+
+        Map<String, Person> byId = new HashMap<>(distinctIds.size() * 2);
+        int index = 0;
+        for (String id : distinctIds.keySet()) {
+            Person person = loaded.get(index++);
+            if (person != null) {
+                byId.put(id, person);
+            }
+        }
+
+        List<Person> persons = new ArrayList<>(ids.size());
+        for (Identifier id : ids) {
+            persons.add(byId.get(id.asString()));
+        }
+        return persons;
+    }
+}
@@ -1,37 +1,140 @@
 package com.example.idtypedemo.repository;
 
 import com.example.idtypedemo.domain.Identifier;
+import com.example.idtypedemo.domain.view.PersonContact;
+import com.example.idtypedemo.domain.view.PersonSummary;
 import com.example.idtypedemo.entity.Person;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for Person entity using the Identifier type.
+ * {@code findAllById} is implemented by {@link PersonMultiLoadRepository}.
  */
 @Repository
-public interface PersonRepository extends JpaRepository<Person, Identifier> {
+public interface PersonRepository extends JpaRepository<Person, Identifier>, PersonMultiLoadRepository {
     
     /**
-     * Find persons by name.
+     * Find a person by ID, together with its department.
      */
+    @Override
+    @EntityGraph(attributePaths = "department")
+    Optional<Person> findById(Identifier id);
+
+    /**
+     * Find all persons together with their departments in one query, for listings that
+     * serialize the department.
+     */
+    @EntityGraph(attributePaths = "department")
+    @Query("SELECT p FROM Person p")
+    List<Person> findAllWithDepartment();
+
+    /**
+     * List all persons as summaries, reading only the columns the summary needs.
+     */
+    @Query("""
+            SELECT new com.example.idtypedemo.domain.view.PersonSummary(
+                p.id, p.name, p.email, p.age, d.id, d.name)
+            FROM Person p LEFT JOIN p.department d""")
+    List<PersonSummary> findAllSummaries();
+
+    /**
+     * Find persons by name, together with their departments.
+     * Read-only: the results are not dirty-checked, changes to them are not flushed.
+     */
+    @EntityGraph(attributePaths = "department")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Person> findByName(String name);
+
+    /**
+     * Find persons by name as a projection, e.g. {@link PersonContact}.
+     */
+    <T> List<T> findByName(String name, Class<T> type);
     
     /**
      * Find persons by email.
+     * Read-only: the results are not dirty-checked, changes to them are not flushed.
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Person> findByEmail(String email);
+
+    /**
+     * Find persons by email as a projection, e.g. {@link PersonContact}.
+     */
+    <T> List<T> findByEmail(String email, Class<T> type);
     
     /**
      * Find persons with age greater than the specified value.
+     * Read-only: the results are not dirty-checked, changes to them are not flushed.
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Person> findByAgeGreaterThan(Integer age);
+
+    /**
+     * Find persons with age greater than the specified value as a projection, e.g. {@link PersonContact}.
+     */
+    <T> List<T> findByAgeGreaterThan(Integer age, Class<T> type);
     
     /**
      * Custom query to demonstrate using the Identifier type in queries.
      */
     @Query("SELECT p FROM Person p WHERE p.id = ?1")
     Person findByIdentifier(Identifier id);
-} 
\ No newline at end of file
+
+    /**
+     * Find only the current version of a person, without loading the entity.
+     */
+    @Query("SELECT p.version FROM Person p WHERE p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Identifier id);
+
+    /**
+     * Find which of the given IDs already exist, without loading the entities.
+     */
+    @Query("SELECT p.id FROM Person p WHERE p.id IN :ids")
+    List<Identifier> findExistingIds(@Param("ids") Collection<Identifier> ids);
+
+    /**
+     * Update the mutable columns of a person in a single statement.
+     * A null {@code departmentId} or {@code tenantId} keeps the stored one; a row without a version
+     * gets version 1. The optimistic lock check is part of the WHERE clause and skipped when
+     * {@code version} is null.
+     *
+     * @return the number of updated rows, 0 if the person does not exist or the version did not match
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Person p
+            SET p.name = :name, p.email = :email, p.age = :age,
+                p.department.id = coalesce(:departmentId, p.department.id),
+                p.tenant.id = coalesce(:tenantId, p.tenant.id),
+                p.version = coalesce(p.version, 0) + 1
+            WHERE p.id = :id AND (:version IS NULL OR p.version = :version)""")
+    int updateByIdentifier(@Param("id") Identifier id,
+                           @Param("version") Long version,
+                           @Param("name") String name,
+                           @Param("email") String email,
+                           @Param("age") Integer age,
+                           @Param("departmentId") Identifier departmentId,
+                           @Param("tenantId") Identifier tenantId);
+
+    /**
+     * Delete a person in a single statement, without loading it first.
+     * The optimistic lock check is skipped when {@code version} is null.
+     *
+     * @return the number of deleted rows, 0 if the person does not exist or the version did not match
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Person p WHERE p.id = :id AND (:version IS NULL OR p.version = :version)")
+    int deleteByIdentifier(@Param("id") Identifier id, @Param("version") Long version);
+}
@@ -0,0 +1,80 @@
+package com.example.idtypedemo.repository;
+
+import com.example.idtypedemo.domain.Identifier;
+import com.example.idtypedemo.entity.Department;
+import com.example.idtypedemo.entity.Person;
+import com.example.idtypedemo.entity.Tenant;
+import com.example.idtypedemo.type.IdentifierR2dbcCodec;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking, read-only access to the person table through R2DBC.
+ * Rows are streamed as they arrive, so large result sets are not materialized.
+ * Associations are not fetched: the department only carries its ID.
+ */
+@Repository
+public class ReactivePersonRepository {
+
+    private static final String SELECT =
+            "SELECT id, name, email, age, department_id, _tenant_id, version FROM person";
+
+    private final DatabaseClient databaseClient;
+    private final IdentifierR2dbcCodec codec;
+
+    public ReactivePersonRepository(DatabaseClient databaseClient, IdentifierR2dbcCodec codec) {
+        this.databaseClient = databaseClient;
+        this.codec = codec;
+    }
+
+    /**
+     * Stream all persons ordered by ID.
+     */
+    public Flux<Person> findAll() {
+        return databaseClient.sql(SELECT + " ORDER BY id")
+                .map(this::toPerson)
+                .all();
+    }
+
+    /**
+     * Find a person by ID.
+     */
+    public Mono<Person> findById(Identifier id) {
+        return databaseClient.sql(SELECT + " WHERE id = :id")
+                .bind("id", codec.encode(id))
+                .map(this::toPerson)
+                .one();
+    }
+
+    /**
+     * Stream persons by name.
+     */
+    public Flux<Person> findByName(String name) {
+        return databaseClient.sql(SELECT + " WHERE name = :name ORDER BY id")
+                .bind("name", name)
+                .map(this::toPerson)
+                .all();
+    }
+
+    private Person toPerson(Readable row) {
+        Identifier departmentId = codec.decode(row, "department_id");
+        Identifier tenantId = codec.decode(row, "_tenant_id");
+        Tenant tenant = null;
+        if (tenantId != null) {
+            tenant = new Tenant();
+            tenant.setId(tenantId);
+        }
+        return Person.builder()
+                .id(codec.decode(row, "id"))
+                .name(row.get("name", String.class))
+                .email(row.get("email", String.class))
+                .age(row.get("age", Integer.class))
+                .department(departmentId == null ? null : Department.builder().id(departmentId).build())
+                .tenant(tenant)
+                .version(row.get("version", Long.class))
+                .build();
+    }
+}
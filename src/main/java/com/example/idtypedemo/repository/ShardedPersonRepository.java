@@ -0,0 +1,247 @@
+package com.example.idtypedemo.repository;
+
+import com.example.idtypedemo.domain.Identifier;
+import com.example.idtypedemo.entity.Department;
+import com.example.idtypedemo.entity.Person;
+import com.example.idtypedemo.entity.Tenant;
+import com.example.idtypedemo.shard.ShardContext;
+import com.example.idtypedemo.shard.ShardResolver;
+import com.example.idtypedemo.shard.ShardRoutingDataSource;
+import com.example.idtypedemo.type.IdentifierR2dbcCodec;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Access to the person table split over several databases by {@link ShardResolver}.
+ * <p>
+ * Statements go through a {@link ShardRoutingDataSource}: lookups by ID touch only the shard
+ * owning the ID, queries on other columns are sent to all shards in parallel and their results
+ * merged (scatter-gather). Saves run in a transaction local to the owning shard, other statements
+ * in their own auto-commit transaction; there are no transactions spanning shards.
+ * Like {@link ReactivePersonRepository}, associations are not
+ * fetched and the department only carries its ID, since departments are not sharded.
+ * <p>
+ * Created by {@code ShardingConfig} when {@code person.sharding.enabled} is true.
+ */
+public class ShardedPersonRepository implements AutoCloseable {
+
+    private static final String SELECT =
+            "SELECT id, name, email, age, department_id, _tenant_id, version FROM person";
+
+    /**
+     * Updates the row if its version matches, or inserts it if there is no row and no version,
+     * in one statement; any other case changes nothing.
+     */
+    private static final String UPSERT = """
+            MERGE INTO person p
+            USING (VALUES (CAST(:id AS VARCHAR(255)), CAST(:version AS BIGINT))) AS s (id, version)
+            ON p.id = s.id
+            WHEN MATCHED AND p.version = s.version THEN
+                UPDATE SET name = :name, email = :email, age = :age, department_id = :departmentId,
+                    _tenant_id = :tenantId, version = p.version + 1
+            WHEN NOT MATCHED AND s.version IS NULL THEN
+                INSERT (id, name, email, age, department_id, _tenant_id, version)
+                VALUES (s.id, :name, :email, :age, :departmentId, :tenantId, 0)""";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardResolver shardResolver;
+    private final IdentifierR2dbcCodec codec;
+    private final ExecutorService executor;
+    private final RowMapper<Person> rowMapper = this::toPerson;
+
+    public ShardedPersonRepository(ShardRoutingDataSource dataSource, ShardResolver shardResolver,
+                                   IdentifierR2dbcCodec codec) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        // Begun while a shard is selected, so the transaction's connection belongs to that shard
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.shardResolver = shardResolver;
+        this.codec = codec;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(shardResolver.getShardCount(), runnable -> {
+            Thread thread = new Thread(runnable, "shard-query-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Insert or update a person on the shard owning its ID, in one transaction on that shard.
+     * A person without a version is inserted; a person with a version updates the row with that version.
+     *
+     * @throws IllegalArgumentException if the person has no ID, which is needed to pick the shard
+     * @throws OptimisticLockingFailureException if the row exists but the person has no version,
+     *         or the version does not match the row's
+     */
+    public Person save(Person person) {
+        if (person.getId() == null) {
+            throw new IllegalArgumentException("Sharded persons need an ID to pick their shard");
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("id", codec.encode(person.getId()))
+                .addValue("version", person.getVersion())
+                .addValue("name", person.getName())
+                .addValue("email", person.getEmail())
+                .addValue("age", person.getAge())
+                .addValue("departmentId", codec.encode(person.getDepartment() == null ? null : person.getDepartment().getId()))
+                .addValue("tenantId", codec.encode(person.getTenant() == null ? null : person.getTenant().getId()));
+        return onShard(person.getId(), () -> transactionTemplate.execute(status -> {
+            if (jdbcTemplate.update(UPSERT, parameters) == 0) {
+                throw new OptimisticLockingFailureException(person.getVersion() == null
+                        ? "Person " + person.getId() + " already exists"
+                        : "Person " + person.getId() + " does not exist with version " + person.getVersion());
+            }
+            return jdbcTemplate.queryForObject(SELECT + " WHERE id = :id", parameters, rowMapper);
+        }));
+    }
+
+    /**
+     * Find a person by ID, querying only the shard owning the ID.
+     */
+    public Optional<Person> findById(Identifier id) {
+        return onShard(id, () -> jdbcTemplate.query(SELECT + " WHERE id = :id",
+                        new MapSqlParameterSource("id", codec.encode(id)), rowMapper))
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Find persons by ID, with one query per shard owning any of the IDs, run in parallel.
+     */
+    public List<Person> findAllById(Collection<Identifier> ids) {
+        Map<Integer, List<Object>> idsByShard = new LinkedHashMap<>();
+        for (Identifier id : ids) {
+            idsByShard.computeIfAbsent(shardResolver.shardOf(id), shard -> new ArrayList<>()).add(codec.encode(id));
+        }
+        List<CompletableFuture<List<Person>>> futures = new ArrayList<>(idsByShard.size());
+        idsByShard.forEach((shard, shardIds) -> futures.add(submit(shard, () -> jdbcTemplate.query(
+                SELECT + " WHERE id IN (:ids)", new MapSqlParameterSource("ids", shardIds), rowMapper))));
+        return gather(futures);
+    }
+
+    /**
+     * Find all persons of all shards, ordered by ID.
+     */
+    public List<Person> findAll() {
+        List<Person> persons = scatter(shard -> jdbcTemplate.query(SELECT, rowMapper));
+        persons.sort(Comparator.comparing(Person::getId));
+        return persons;
+    }
+
+    /**
+     * Find persons by name on all shards, ordered by ID.
+     */
+    public List<Person> findByName(String name) {
+        List<Person> persons = scatter(shard -> jdbcTemplate.query(SELECT + " WHERE name = :name",
+                new MapSqlParameterSource("name", name), rowMapper));
+        persons.sort(Comparator.comparing(Person::getId));
+        return persons;
+    }
+
+    /**
+     * Count the persons of all shards.
+     */
+    public long count() {
+        return scatter(shard -> List.of(jdbcTemplate.getJdbcTemplate().queryForObject("SELECT count(*) FROM person", Long.class)))
+                .stream()
+                .mapToLong(Long::longValue)
+                .sum();
+    }
+
+    /**
+     * Delete a person on the shard owning its ID.
+     *
+     * @return whether the person existed
+     */
+    public boolean deleteById(Identifier id) {
+        return onShard(id, () -> jdbcTemplate.update("DELETE FROM person WHERE id = :id",
+                new MapSqlParameterSource("id", codec.encode(id)))) > 0;
+    }
+
+    /**
+     * Gets the shard number owning the ID.
+     */
+    public int shardOf(Identifier id) {
+        return shardResolver.shardOf(id);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private <T> T onShard(Identifier id, Supplier<T> action) {
+        return ShardContext.callOn(shardResolver.shardOf(id), action);
+    }
+
+    private <T> List<T> scatter(IntFunction<List<T>> query) {
+        List<CompletableFuture<List<T>>> futures = new ArrayList<>(shardResolver.getShardCount());
+        for (int shard = 0; shard < shardResolver.getShardCount(); shard++) {
+            int current = shard;
+            futures.add(submit(shard, () -> query.apply(current)));
+        }
+        return gather(futures);
+    }
+
+    private <T> CompletableFuture<List<T>> submit(int shard, Supplier<List<T>> query) {
+        return CompletableFuture.supplyAsync(() -> ShardContext.callOn(shard, query), executor);
+    }
+
+    /**
+     * Waits for all shards and concatenates their results; the first failure is rethrown as is.
+     */
+    private static <T> List<T> gather(List<CompletableFuture<List<T>>> futures) {
+        List<T> results = new ArrayList<>();
+        try {
+            for (CompletableFuture<List<T>> future : futures) {
+                results.addAll(future.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    private Person toPerson(ResultSet rs, int rowNum) throws SQLException {
+        Identifier departmentId = codec.decode(rs.getObject("department_id"));
+        Identifier tenantId = codec.decode(rs.getObject("_tenant_id"));
+        Tenant tenant = null;
+        if (tenantId != null) {
+            tenant = new Tenant();
+            tenant.setId(tenantId);
+        }
+        return Person.builder()
+                .id(codec.decode(rs.getObject("id")))
+                .name(rs.getString("name"))
+                .email(rs.getString("email"))
+                .age(rs.getObject("age", Integer.class))
+                .department(departmentId == null ? null : Department.builder().id(departmentId).build())
+                .tenant(tenant)
+                .version(rs.getObject("version", Long.class))
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.idtypedemo.repository;
+
+import com.example.idtypedemo.domain.Identifier;
+import com.example.idtypedemo.entity.Person;
+import com.example.idtypedemo.entity.Tenant;
+import com.example.idtypedemo.tenant.TenantContext;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Read access to the persons of the tenant bound to {@link TenantContext}.
+ * <p>
+ * Every query runs with the {@link Tenant#FILTER} Hibernate filter enabled, so the tenant
+ * predicate is added by Hibernate rather than by each query. Filters do not apply to loads by
+ * ID, which is why {@link #findById} is a query as well. The filter is disabled again after
+ * each call, so it does not leak into later queries of a surrounding transaction.
+ */
+@Repository
+@Transactional(readOnly = true)
+public class TenantPersonRepository {
+
+    private final EntityManager entityManager;
+
+    public TenantPersonRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Find all persons of the tenant, with their departments.
+     */
+    public List<Person> findAll() {
+        return withTenantFilter(session -> session
+                .createSelectionQuery("SELECT p FROM Person p LEFT JOIN FETCH p.department ORDER BY p.id", Person.class)
+                .getResultList());
+    }
+
+    /**
+     * Find a person of the tenant by ID; persons of other tenants are not found.
+     */
+    public Optional<Person> findById(Identifier id) {
+        return withTenantFilter(session -> session
+                .createSelectionQuery("SELECT p FROM Person p LEFT JOIN FETCH p.department WHERE p.id = :id", Person.class)
+                .setParameter("id", id)
+                .uniqueResultOptional());
+    }
+
+    /**
+     * Find persons of the tenant by name.
+     */
+    public List<Person> findByName(String name) {
+        return withTenantFilter(session -> session
+                .createSelectionQuery("SELECT p FROM Person p LEFT JOIN FETCH p.department WHERE p.name = :name", Person.class)
+                .setParameter("name", name)
+                .getResultList());
+    }
+
+    /**
+     * Count the persons of the tenant.
+     */
+    public long count() {
+        return withTenantFilter(session -> session
+                .createSelectionQuery("SELECT count(p) FROM Person p", Long.class)
+                .getSingleResult());
+    }
+
+    private <T> T withTenantFilter(Function<Session, T> query) {
+        Session session = entityManager.unwrap(Session.class);
+        session.enableFilter(Tenant.FILTER).setParameter(Tenant.FILTER_PARAMETER, TenantContext.require());
+        try {
+            return query.apply(session);
+        } finally {
+            session.disableFilter(Tenant.FILTER);
+        }
+    }
+}
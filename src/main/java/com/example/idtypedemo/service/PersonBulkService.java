@@ -0,0 +1,181 @@
+package com.example.idtypedemo.service;
+
+import com.example.idtypedemo.bulk.BulkImportProperties;
+import com.example.idtypedemo.bulk.BulkItemResult;
+import com.example.idtypedemo.bulk.BulkItemResult.Status;
+import com.example.idtypedemo.domain.Identifier;
+import com.example.idtypedemo.entity.Department;
+import com.example.idtypedemo.entity.Person;
+import com.example.idtypedemo.replica.ReplicaLagGuard;
+import com.example.idtypedemo.repository.PersonRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Inserts large numbers of persons in chunks.
+ * <p>
+ * Each chunk runs in its own transaction: the IDs of the chunk are checked against the table in
+ * one query, the remaining items are persisted with JDBC batching, and the persistence context is
+ * flushed and cleared every {@code flushInterval} items so it never holds more than one JDBC batch.
+ * Inserts bypass the second-level cache; new persons are cached when they are first read.
+ * Once a chunk commits, its persons are read from the primary for the read-your-writes window.
+ * If a chunk fails as a whole, e.g. on an unknown department, its items are retried one by one
+ * so every item gets its own result.
+ */
+@Service
+public class PersonBulkService {
+
+    private final EntityManager entityManager;
+    private final PersonRepository personRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReplicaLagGuard replicaLagGuard;
+    private final int chunkSize;
+    private final int flushInterval;
+
+    public PersonBulkService(EntityManager entityManager, PersonRepository personRepository,
+                             PlatformTransactionManager transactionManager, BulkImportProperties properties,
+                             ReplicaLagGuard replicaLagGuard) {
+        if (properties.getChunkSize() < 1 || properties.getFlushInterval() < 1) {
+            throw new IllegalArgumentException("chunkSize and flushInterval must be at least 1");
+        }
+        this.entityManager = entityManager;
+        this.personRepository = personRepository;
+        // Every chunk commits on its own, so a failing chunk does not roll back the ones before it
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.replicaLagGuard = replicaLagGuard;
+        this.chunkSize = properties.getChunkSize();
+        this.flushInterval = properties.getFlushInterval();
+    }
+
+    /**
+     * Inserts all persons read from the iterator, committing chunk by chunk.
+     * Items are read lazily, so the source may be streamed from the request body.
+     * If the source fails to produce an item, the items read so far are still inserted,
+     * the failure is reported as an {@link Status#INVALID} result and reading stops.
+     *
+     * @return one result per item, in the order of the source
+     */
+    public List<BulkItemResult> importAll(Iterator<Person> persons) {
+        List<BulkItemResult> results = new ArrayList<>();
+        List<Person> chunk = new ArrayList<>(chunkSize);
+        while (true) {
+            Person person;
+            try {
+                if (!persons.hasNext()) {
+                    break;
+                }
+                person = persons.next();
+            } catch (RuntimeException e) {
+                results.addAll(importChunk(chunk, results.size()));
+                chunk.clear();
+                results.add(BulkItemResult.rejected(results.size(), null, Status.INVALID, messageOf(e)));
+                return results;
+            }
+            chunk.add(person);
+            if (chunk.size() == chunkSize) {
+                results.addAll(importChunk(chunk, results.size()));
+                chunk.clear();
+            }
+        }
+        results.addAll(importChunk(chunk, results.size()));
+        return results;
+    }
+
+    private List<BulkItemResult> importChunk(List<Person> chunk, int offset) {
+        if (chunk.isEmpty()) {
+            return List.of();
+        }
+        BulkItemResult[] results = new BulkItemResult[chunk.size()];
+        List<Person> accepted = new ArrayList<>(chunk.size());
+        List<Integer> acceptedIndexes = new ArrayList<>(chunk.size());
+        Set<Identifier> existing = existingIds(chunk);
+        Set<Identifier> seen = new HashSet<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            Person person = chunk.get(i);
+            Identifier id = person.getId();
+            if (person.getName() == null || person.getName().isBlank()) {
+                results[i] = BulkItemResult.rejected(offset + i, id, Status.INVALID, "name is required");
+            } else if (id != null && (existing.contains(id) || !seen.add(id))) {
+                results[i] = BulkItemResult.rejected(offset + i, id, Status.CONFLICT, "person already exists");
+            } else {
+                accepted.add(person);
+                acceptedIndexes.add(i);
+            }
+        }
+
+        Identifier[] providedIds = accepted.stream().map(Person::getId).toArray(Identifier[]::new);
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(accepted));
+            for (int i = 0; i < accepted.size(); i++) {
+                int index = acceptedIndexes.get(i);
+                results[index] = BulkItemResult.created(offset + index, accepted.get(i).getId());
+            }
+        } catch (RuntimeException chunkFailure) {
+            for (int i = 0; i < accepted.size(); i++) {
+                int index = acceptedIndexes.get(i);
+                Person person = accepted.get(i);
+                // Undo what the failed flush assigned, so the person is transient again
+                person.setId(providedIds[i]);
+                person.setVersion(null);
+                person.setPersisted(false);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persist(List.of(person)));
+                    results[index] = BulkItemResult.created(offset + index, person.getId());
+                } catch (RuntimeException e) {
+                    results[index] = BulkItemResult.rejected(offset + index, providedIds[i], Status.FAILED, messageOf(e));
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private Set<Identifier> existingIds(List<Person> chunk) {
+        List<Identifier> ids = chunk.stream().map(Person::getId).filter(id -> id != null).toList();
+        return ids.isEmpty() ? Set.of() : new HashSet<>(personRepository.findExistingIds(ids));
+    }
+
+    /**
+     * Persists the persons in the current transaction, flushing one JDBC batch at a time,
+     * and records them as written once the transaction commits.
+     */
+    private void persist(List<Person> persons) {
+        Session session = entityManager.unwrap(Session.class);
+        session.setCacheMode(CacheMode.IGNORE);
+        session.setJdbcBatchSize(flushInterval);
+        for (int i = 0; i < persons.size(); i++) {
+            Person person = persons.get(i);
+            person.setVersion(null);
+            if (person.getDepartment() != null) {
+                Identifier departmentId = person.getDepartment().getId();
+                person.setDepartment(departmentId == null ? null : entityManager.getReference(Department.class, departmentId));
+            }
+            entityManager.persist(person);
+            if ((i + 1) % flushInterval == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        replicaLagGuard.recordWritesAfterCommit(persons.stream().map(Person::getId).toList());
+    }
+
+    private static String messageOf(Throwable e) {
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+}
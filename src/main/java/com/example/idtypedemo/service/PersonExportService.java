@@ -0,0 +1,84 @@
+package com.example.idtypedemo.service;
+
+import com.example.idtypedemo.entity.Person;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Exports all persons, with their department, as newline-delimited JSON.
+ * <p>
+ * Rows are read through a stateless session with a forward-only cursor and written to the
+ * output stream one at a time, so neither a persistence context nor the result list grows
+ * with the table. Each person is serialized by the application's {@link ObjectMapper}, so a
+ * line is the same JSON as the rest of the API returns. The department is fetched by the
+ * export query; the lazy {@code Department.people} collection is not serialized.
+ */
+@Service
+public class PersonExportService {
+
+    private static final String EXPORT_QUERY = "SELECT p FROM Person p LEFT JOIN FETCH p.department ORDER BY p.id";
+
+    private final SessionFactory sessionFactory;
+    private final ObjectMapper objectMapper;
+    // Flushed once at the end of the export rather than after every person
+    private final ObjectWriter personWriter;
+    private final int fetchSize;
+
+    public PersonExportService(EntityManagerFactory entityManagerFactory, ObjectMapper objectMapper,
+                               @Value("${person.export.fetch-size:1000}") int fetchSize) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.objectMapper = objectMapper;
+        this.personWriter = objectMapper.writerFor(Person.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Writes one JSON object per person to the output stream, ordered by ID.
+     * The stream is flushed but not closed.
+     *
+     * @return the number of exported persons
+     */
+    public long exportPersons(OutputStream out) throws IOException {
+        long count = 0;
+        try (StatelessSession session = sessionFactory.openStatelessSession();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Lines are terminated explicitly instead of separating root values with a space
+            generator.setRootValueSeparator(null);
+            // Some drivers (PostgreSQL) only honour the fetch size outside auto-commit mode
+            Transaction transaction = session.beginTransaction();
+            try (ScrollableResults<Person> persons = session.createSelectionQuery(EXPORT_QUERY, Person.class)
+                    .setFetchSize(fetchSize)
+                    .scroll(ScrollMode.FORWARD_ONLY)) {
+                while (persons.next()) {
+                    writePerson(generator, persons.get());
+                    count++;
+                }
+                generator.flush();
+            } finally {
+                // Read-only: never commit, just release the cursor and the connection
+                transaction.rollback();
+            }
+        }
+        return count;
+    }
+
+    private void writePerson(JsonGenerator generator, Person person) throws IOException {
+        personWriter.writeValue(generator, person);
+        generator.writeRaw('\n');
+    }
+}
@@ -1,11 +1,19 @@
 package com.example.idtypedemo.service;
 
+import com.example.idtypedemo.batch.BatchLoader;
+import com.example.idtypedemo.cache.NearCache;
+import com.example.idtypedemo.cache.TenantNearCaches;
 import com.example.idtypedemo.domain.Identifier;
+import com.example.idtypedemo.domain.view.PersonSummary;
 import com.example.idtypedemo.entity.Person;
+import com.example.idtypedemo.replica.ReplicaContext;
+import com.example.idtypedemo.replica.ReplicaLagGuard;
 import com.example.idtypedemo.repository.PersonRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.Optional;
@@ -18,33 +26,89 @@ import java.util.Optional;
 public class PersonService {
     
     private final PersonRepository personRepository;
+    private final NearCache<Identifier, Person> nearCache;
+    private final BatchLoader<Identifier, Person> batchLoader;
+    private final TenantNearCaches<Identifier, Person> tenantNearCaches;
+    private final ReplicaLagGuard replicaLagGuard;
     
     @Autowired
-    public PersonService(PersonRepository personRepository) {
+    public PersonService(PersonRepository personRepository,
+                         NearCache<Identifier, Person> nearCache, BatchLoader<Identifier, Person> batchLoader,
+                         TenantNearCaches<Identifier, Person> tenantNearCaches, ReplicaLagGuard replicaLagGuard) {
         this.personRepository = personRepository;
+        this.nearCache = nearCache;
+        this.batchLoader = batchLoader;
+        this.tenantNearCaches = tenantNearCaches;
+        this.replicaLagGuard = replicaLagGuard;
     }
     
     /**
      * Save a person entity.
+     * A person that was not loaded is inserted, with its provided ID if it has one.
      */
     public Person save(Person person) {
-        return personRepository.save(person);
+        Person saved = personRepository.save(person);
+        invalidateAfterCommit(saved.getId());
+        return saved;
+    }
+
+    /**
+     * Update a person in a single statement, without loading it first.
+     * If the person carries a version, the update only succeeds when it matches the stored one.
+     * A department or tenant the person does not carry is left as stored.
+     *
+     * @return the number of updated rows, 0 if the person does not exist or the version is stale
+     */
+    public int update(Identifier id, Person person) {
+        invalidateAfterCommit(id);
+        return personRepository.updateByIdentifier(id, person.getVersion(),
+                person.getName(), person.getEmail(), person.getAge(),
+                person.getDepartment() == null ? null : person.getDepartment().getId(),
+                person.getTenant() == null ? null : person.getTenant().getId());
     }
     
     /**
      * Find a person by ID.
+     * Served from the near-cache when enabled; a hit does not open a transaction.
+     * Concurrent misses are coalesced into one query by the batch loader.
+     * Misses go to the read replica, unless the person or the current session wrote within the read-your-writes window.
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public Optional<Person> findById(Identifier id) {
-        return personRepository.findById(id);
+        return nearCache.get(id, this::load);
+    }
+
+    /**
+     * Loads a person from the database. Lookups inside a transaction are not batched,
+     * because the batch may be dispatched from another caller's transaction and would not
+     * see this transaction's uncommitted writes.
+     */
+    private Optional<Person> load(Identifier id) {
+        if (replicaLagGuard.isRecentlyWritten(id) || replicaLagGuard.isPrimaryRequired()) {
+            // The batch may be dispatched on another thread, which would be neither pinned to the
+            // primary nor bound to this client session
+            return ReplicaContext.callOnPrimary(() -> personRepository.findById(id));
+        }
+        if (!batchLoader.isBatching() || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return personRepository.findById(id);
+        }
+        return Optional.ofNullable(batchLoader.load(id));
     }
     
     /**
-     * Find all persons.
+     * Find all persons, with their departments fetched in the same query.
      */
     @Transactional(readOnly = true)
     public List<Person> findAll() {
-        return personRepository.findAll();
+        return personRepository.findAllWithDepartment();
+    }
+
+    /**
+     * List all persons as flat summaries, without loading entities.
+     */
+    @Transactional(readOnly = true)
+    public List<PersonSummary> findAllSummaries() {
+        return personRepository.findAllSummaries();
     }
     
     /**
@@ -60,6 +124,28 @@ public class PersonService {
      */
     public void deleteById(Identifier id) {
         personRepository.deleteById(id);
+        invalidateAfterCommit(id);
+    }
+
+    /**
+     * Delete a person in a single statement, without loading it first.
+     *
+     * @param version the expected version, or null to delete regardless of the version
+     * @return the number of deleted rows, 0 if the person does not exist or the version is stale
+     */
+    public int delete(Identifier id, Long version) {
+        invalidateAfterCommit(id);
+        return personRepository.deleteByIdentifier(id, version);
+    }
+    
+    /**
+     * Drops a person from the shared and the tenant near-caches once the transaction commits,
+     * and reads it from the primary for the read-your-writes window.
+     */
+    private void invalidateAfterCommit(Identifier id) {
+        nearCache.invalidateAfterCommit(id);
+        tenantNearCaches.invalidateAfterCommit(id);
+        replicaLagGuard.recordWriteAfterCommit(id);
     }
     
     /**
@@ -0,0 +1,43 @@
+package com.example.idtypedemo.service;
+
+import com.example.idtypedemo.domain.Identifier;
+import com.example.idtypedemo.entity.Person;
+import com.example.idtypedemo.repository.ReactivePersonRepository;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive, read-only service for Person entities backed by R2DBC.
+ * Writes stay on {@link PersonService}, so identifier generation and version tracking apply to them.
+ */
+@Service
+public class ReactivePersonService {
+
+    private final ReactivePersonRepository reactivePersonRepository;
+
+    public ReactivePersonService(ReactivePersonRepository reactivePersonRepository) {
+        this.reactivePersonRepository = reactivePersonRepository;
+    }
+
+    /**
+     * Stream all persons.
+     */
+    public Flux<Person> findAll() {
+        return reactivePersonRepository.findAll();
+    }
+
+    /**
+     * Find a person by ID.
+     */
+    public Mono<Person> findById(Identifier id) {
+        return reactivePersonRepository.findById(id);
+    }
+
+    /**
+     * Stream persons by name.
+     */
+    public Flux<Person> findByName(String name) {
+        return reactivePersonRepository.findByName(name);
+    }
+}
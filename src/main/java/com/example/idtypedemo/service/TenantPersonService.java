@@ -0,0 +1,89 @@
+package com.example.idtypedemo.service;
+
+import com.example.idtypedemo.cache.TenantNearCaches;
+import com.example.idtypedemo.domain.Identifier;
+import com.example.idtypedemo.entity.Person;
+import com.example.idtypedemo.entity.Tenant;
+import com.example.idtypedemo.replica.ReplicaContext;
+import com.example.idtypedemo.replica.ReplicaLagGuard;
+import com.example.idtypedemo.repository.PersonRepository;
+import com.example.idtypedemo.repository.TenantPersonRepository;
+import com.example.idtypedemo.tenant.TenantContext;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service for the persons of the tenant bound to {@link TenantContext}.
+ * Lookups by ID go through the tenant's own near-cache; writes are stamped with the tenant.
+ */
+@Service
+@Transactional
+public class TenantPersonService {
+
+    private final TenantPersonRepository tenantPersonRepository;
+    private final PersonRepository personRepository;
+    private final PersonService personService;
+    private final TenantNearCaches<Identifier, Person> nearCaches;
+    private final ReplicaLagGuard replicaLagGuard;
+
+    public TenantPersonService(TenantPersonRepository tenantPersonRepository, PersonRepository personRepository,
+                               PersonService personService, TenantNearCaches<Identifier, Person> nearCaches,
+                               ReplicaLagGuard replicaLagGuard) {
+        this.tenantPersonRepository = tenantPersonRepository;
+        this.personRepository = personRepository;
+        this.personService = personService;
+        this.nearCaches = nearCaches;
+        this.replicaLagGuard = replicaLagGuard;
+    }
+
+    /**
+     * Find a person of the current tenant by ID.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public Optional<Person> findById(Identifier id) {
+        return nearCaches.forTenant(TenantContext.require()).get(id, this::load);
+    }
+
+    private Optional<Person> load(Identifier id) {
+        if (replicaLagGuard.isRecentlyWritten(id)) {
+            return ReplicaContext.callOnPrimary(() -> tenantPersonRepository.findById(id));
+        }
+        return tenantPersonRepository.findById(id);
+    }
+
+    /**
+     * Find all persons of the current tenant.
+     */
+    @Transactional(readOnly = true)
+    public List<Person> findAll() {
+        return tenantPersonRepository.findAll();
+    }
+
+    /**
+     * Find persons of the current tenant by name.
+     */
+    @Transactional(readOnly = true)
+    public List<Person> findByName(String name) {
+        return tenantPersonRepository.findByName(name);
+    }
+
+    /**
+     * Create a person for the current tenant. A tenant given in the person is overridden.
+     *
+     * @return the created person, or empty if a person with the given ID already exists in any tenant
+     */
+    public Optional<Person> create(Person person) {
+        if (person.getId() != null && personRepository.existsById(person.getId())) {
+            return Optional.empty();
+        }
+        Tenant tenant = new Tenant();
+        tenant.setId(TenantContext.require());
+        person.setTenant(tenant);
+        person.setVersion(null);
+        return Optional.of(personService.save(person));
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.idtypedemo.shard;
+
+import java.util.function.Supplier;
+
+/**
+ * Holds the shard the current thread is working on, read by {@link ShardRoutingDataSource}
+ * when a connection is requested.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * Gets the current shard, or null if none is bound.
+     */
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs the action on the shard, restoring the previous shard afterwards.
+     */
+    public static <T> T callOn(int shard, Supplier<T> action) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.idtypedemo.shard;
+
+import com.example.idtypedemo.domain.Identifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+/**
+ * Maps identifiers to shard numbers.
+ * <p>
+ * Numeric identifiers are hashed by value, all others by a CRC-32C of their UTF-8 form, so the
+ * shard of an identifier never changes between JVMs or releases. A string holding a number is
+ * hashed as that number: {@code Identifier} considers {@code 123} and {@code "123"} equal, and
+ * identifiers read back from VARCHAR columns come back as longs.
+ */
+public class ShardResolver {
+
+    private final int shardCount;
+
+    public ShardResolver(int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("shardCount must be at least 1: " + shardCount);
+        }
+        this.shardCount = shardCount;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Gets the shard number of the identifier, between 0 and {@code shardCount - 1}.
+     */
+    public int shardOf(Identifier id) {
+        return Math.floorMod(hash(id), shardCount);
+    }
+
+    static int hash(Identifier id) {
+        if (id.isLong()) {
+            return hash(id.asLong());
+        }
+        String value = id.asString();
+        try {
+            return hash(Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            CRC32C crc = new CRC32C();
+            crc.update(value.getBytes(StandardCharsets.UTF_8));
+            return (int) crc.getValue();
+        }
+    }
+
+    /**
+     * Murmur3 finalizer, so consecutive IDs (and the per-tenant ID blocks) spread over all shards.
+     */
+    private static int hash(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return (int) value;
+    }
+}
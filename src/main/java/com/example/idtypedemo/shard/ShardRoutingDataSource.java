@@ -0,0 +1,59 @@
+package com.example.idtypedemo.shard;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DataSource handing out connections of the shard bound to {@link ShardContext}.
+ * There is no default shard: asking for a connection without a bound shard fails, instead of
+ * silently reading from or writing to shard 0.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private final List<DataSource> shards;
+
+    public ShardRoutingDataSource(List<DataSource> shards) {
+        this.shards = List.copyOf(shards);
+        Map<Object, Object> targets = new HashMap<>();
+        for (int i = 0; i < shards.size(); i++) {
+            targets.put(i, shards.get(i));
+        }
+        setTargetDataSources(targets);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Gets the DataSources of the shards, indexed by shard number.
+     */
+    public List<DataSource> getShards() {
+        return shards;
+    }
+
+    /**
+     * Closes the connection pools of the shards.
+     */
+    @Override
+    public void close() throws IOException {
+        for (DataSource shard : shards) {
+            if (shard instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Integer shard = ShardContext.current();
+        if (shard == null) {
+            throw new IllegalStateException("No shard bound to the current thread");
+        }
+        return shard;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.idtypedemo.shard;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration of the person shards used by {@code ShardedPersonRepository}.
+ */
+@ConfigurationProperties(prefix = "person.sharding")
+public class ShardingProperties {
+    private boolean enabled = false;
+    /**
+     * JDBC URL of each shard. The position in the list is the shard number, so shards must
+     * only ever be appended to, and appending one moves rows to other shards.
+     */
+    private List<String> urls = new ArrayList<>();
+    private String username = "sa";
+    private String password = "";
+    /**
+     * Whether to create the person table on each shard at startup.
+     */
+    private boolean initializeSchema = true;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getUrls() {
+        return urls;
+    }
+
+    public void setUrls(List<String> urls) {
+        this.urls = urls;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public boolean isInitializeSchema() {
+        return initializeSchema;
+    }
+
+    public void setInitializeSchema(boolean initializeSchema) {
+        this.initializeSchema = initializeSchema;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.idtypedemo.tenant;
+
+import com.example.idtypedemo.domain.Identifier;
+
+import java.util.function.Supplier;
+
+/**
+ * Holds the tenant the current thread is working for.
+ * Set by {@link TenantFilter} for tenant-scoped requests; read by the tenant-scoped repository,
+ * the entity listener that stamps new rows and the identifier generator.
+ */
+public final class TenantContext {
+
+    private static final ThreadLocal<Identifier> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    /**
+     * Gets the current tenant, or null outside a tenant scope.
+     */
+    public static Identifier current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Gets the current tenant.
+     *
+     * @throws IllegalStateException outside a tenant scope
+     */
+    public static Identifier require() {
+        Identifier tenant = CURRENT.get();
+        if (tenant == null) {
+            throw new IllegalStateException("No tenant bound to the current thread");
+        }
+        return tenant;
+    }
+
+    /**
+     * Runs the action for the tenant, restoring the previous tenant afterwards.
+     */
+    public static <T> T callAs(Identifier tenant, Supplier<T> action) {
+        Identifier previous = bind(tenant);
+        try {
+            return action.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Binds the tenant to the current thread.
+     *
+     * @return the previously bound tenant, to be passed to {@link #restore}
+     */
+    public static Identifier bind(Identifier tenant) {
+        Identifier previous = CURRENT.get();
+        CURRENT.set(tenant);
+        return previous;
+    }
+
+    /**
+     * Restores the tenant returned by {@link #bind}.
+     */
+    public static void restore(Identifier previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.idtypedemo.tenant;
+
+import com.example.idtypedemo.entity.Person;
+import com.example.idtypedemo.entity.Tenant;
+import jakarta.persistence.PrePersist;
+
+/**
+ * Stamps new persons with the current tenant.
+ * Runs before the identifier is generated, so the generator sees the tenant as well.
+ */
+public class TenantEntityListener {
+
+    @PrePersist
+    public void assignTenant(Person person) {
+        if (TenantContext.current() != null && (person.getTenant() == null || person.getTenant().getId() == null)) {
+            Tenant tenant = new Tenant();
+            tenant.setId(TenantContext.current());
+            person.setTenant(tenant);
+        }
+    }
+}
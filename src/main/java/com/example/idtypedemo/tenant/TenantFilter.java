@@ -0,0 +1,82 @@
+package com.example.idtypedemo.tenant;
+
+import com.example.idtypedemo.domain.Identifier;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Binds the tenant of {@code /api/tenants/{tenantId}/...} requests to {@link TenantContext}.
+ * <p>
+ * With {@code person.tenant.max-concurrent-requests} set, each tenant gets its own permits and
+ * requests over the limit are rejected with 429, so a hot tenant cannot take all request
+ * threads and database connections away from the others. The tenant comes from the request
+ * path, so the permits are kept in a cache bounded by {@code person.tenant.maximum-cached-tenants}
+ * and expire once a tenant has been idle for {@code person.tenant.request-limit-idle-timeout}.
+ * A request keeps the permits it acquired from, even if they are evicted meanwhile.
+ */
+public class TenantFilter extends OncePerRequestFilter {
+
+    static final String PATH_PREFIX = "/api/tenants/";
+
+    private final int maxConcurrentRequests;
+    private final Cache<Identifier, Semaphore> permits;
+
+    public TenantFilter(TenantProperties properties) {
+        this.maxConcurrentRequests = properties.getMaxConcurrentRequests();
+        this.permits = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumCachedTenants())
+                .expireAfterAccess(properties.getRequestLimitIdleTimeout())
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return tenantSegment(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Identifier tenant = Identifier.fromString(tenantSegment(request));
+        Semaphore semaphore = maxConcurrentRequests > 0
+                ? permits.get(tenant, t -> new Semaphore(maxConcurrentRequests))
+                : null;
+        if (semaphore != null && !semaphore.tryAcquire()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Too many concurrent requests for tenant " + tenant);
+            return;
+        }
+        Identifier previous = TenantContext.bind(tenant);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            TenantContext.restore(previous);
+            if (semaphore != null) {
+                semaphore.release();
+            }
+        }
+    }
+
+    /**
+     * Extracts the tenant ID segment, or null if the request is not tenant-scoped.
+     */
+    private static String tenantSegment(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith(PATH_PREFIX)) {
+            return null;
+        }
+        int end = path.indexOf('/', PATH_PREFIX.length());
+        String segment = end < 0 ? path.substring(PATH_PREFIX.length()) : path.substring(PATH_PREFIX.length(), end);
+        return segment.isEmpty() ? null : segment;
+    }
+}
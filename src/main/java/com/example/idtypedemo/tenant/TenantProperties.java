@@ -0,0 +1,69 @@
+package com.example.idtypedemo.tenant;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of tenant-scoped access under {@code /api/tenants/{tenantId}}.
+ */
+@ConfigurationProperties(prefix = "person.tenant")
+public class TenantProperties {
+    /**
+     * Maximum number of entries in the near-cache of each tenant.
+     */
+    private long nearCacheMaximumSize = 1_000;
+    private Duration nearCacheTimeToLive = Duration.ofMinutes(5);
+    /**
+     * Maximum number of tenants with a near-cache; the least recently used tenant's cache is dropped.
+     */
+    private long maximumCachedTenants = 1_000;
+    /**
+     * Maximum number of concurrent requests per tenant, 0 for no limit. Requests over the limit get 429.
+     */
+    private int maxConcurrentRequests = 0;
+    /**
+     * How long the request permits of a tenant without requests are kept.
+     */
+    private Duration requestLimitIdleTimeout = Duration.ofMinutes(1);
+
+    public long getNearCacheMaximumSize() {
+        return nearCacheMaximumSize;
+    }
+
+    public void setNearCacheMaximumSize(long nearCacheMaximumSize) {
+        this.nearCacheMaximumSize = nearCacheMaximumSize;
+    }
+
+    public Duration getNearCacheTimeToLive() {
+        return nearCacheTimeToLive;
+    }
+
+    public void setNearCacheTimeToLive(Duration nearCacheTimeToLive) {
+        this.nearCacheTimeToLive = nearCacheTimeToLive;
+    }
+
+    public long getMaximumCachedTenants() {
+        return maximumCachedTenants;
+    }
+
+    public void setMaximumCachedTenants(long maximumCachedTenants) {
+        this.maximumCachedTenants = maximumCachedTenants;
+    }
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    public Duration getRequestLimitIdleTimeout() {
+        return requestLimitIdleTimeout;
+    }
+
+    public void setRequestLimitIdleTimeout(Duration requestLimitIdleTimeout) {
+        this.requestLimitIdleTimeout = requestLimitIdleTimeout;
+    }
+}
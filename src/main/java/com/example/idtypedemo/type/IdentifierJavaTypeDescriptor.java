@@ -1,54 +1,160 @@
 package com.example.idtypedemo.type;
 
+import com.example.idtypedemo.config.IdentifierSettings;
 import com.example.idtypedemo.domain.Identifier;
+import org.hibernate.dialect.Dialect;
 import org.hibernate.type.descriptor.WrapperOptions;
 import org.hibernate.type.descriptor.java.AbstractClassJavaType;
+import org.hibernate.type.descriptor.java.JavaType;
+import org.hibernate.type.descriptor.jdbc.JdbcType;
+import org.hibernate.type.descriptor.jdbc.JdbcTypeIndicators;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Types;
 
 /**
  * Hibernate Java type descriptor for the Identifier class.
  * Handles conversion between Identifier and other Java types.
+ * <p>
+ * Paired with the JDBC type {@link IdentifierType} maps to, so query parameters and expressions
+ * typed by the descriptor alone bind like mapped attributes do. {@link IdentifierType} exposes it
+ * as its expressible type, so IN lists, multi-id loads and literals use it instead of Hibernate's
+ * generic user type wrapper.
  */
 public class IdentifierJavaTypeDescriptor extends AbstractClassJavaType<Identifier> {
 
+    private static final long serialVersionUID = 1L;
+
     public static final IdentifierJavaTypeDescriptor INSTANCE = new IdentifierJavaTypeDescriptor();
 
+    private final int sqlType;
+    private final IdentifierSettings settings;
+
     public IdentifierJavaTypeDescriptor() {
         super(Identifier.class);
+        this.sqlType = Types.VARCHAR;
+        this.settings = null;
+    }
+
+    /**
+     * Creates a descriptor recommending the column type of the given settings.
+     */
+    public IdentifierJavaTypeDescriptor(IdentifierSettings settings) {
+        this(settings, settings.isLongType() && settings.useNativeTypes() ? Types.BIGINT : Types.VARCHAR);
+    }
+
+    /**
+     * Creates a descriptor recommending the given JDBC type code, as resolved by {@link IdentifierType}.
+     */
+    public IdentifierJavaTypeDescriptor(IdentifierSettings settings, int sqlType) {
+        super(Identifier.class);
+        this.sqlType = sqlType;
+        this.settings = settings;
+    }
+
+    @Override
+    public JdbcType getRecommendedJdbcType(JdbcTypeIndicators indicators) {
+        return indicators.getJdbcType(sqlType);
+    }
+
+    /**
+     * Uses the configured string length for character columns, instead of Hibernate's default of 255.
+     */
+    @Override
+    public long getDefaultSqlLength(Dialect dialect, JdbcType jdbcType) {
+        if (settings != null && jdbcType.isStringLike()) {
+            return settings.stringLength();
+        }
+        return super.getDefaultSqlLength(dialect, jdbcType);
     }
 
+    /**
+     * Every integral number and string converts to an identifier, so parameters typed with
+     * those Java types are widened to {@code Identifier} instead of being rejected.
+     */
     @Override
+    public boolean isWider(JavaType<?> javaType) {
+        Class<?> type = javaType.getJavaTypeClass();
+        return type == Long.class || type == Integer.class || type == Short.class || type == Byte.class
+                || type == String.class || type == Character.class;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
     public <X> X unwrap(Identifier value, Class<X> type, WrapperOptions options) {
         if (value == null) {
             return null;
         }
 
-        if (String.class.isAssignableFrom(type)) {
+        if (type.isInstance(value)) {
+            return (X) value;
+        }
+
+        if (type == String.class || type == Object.class || type == CharSequence.class) {
             return (X) value.asString();
         }
 
-        if (Long.class.isAssignableFrom(type)) {
-            try {
-                return (X) value.asLong();
-            } catch (NumberFormatException e) {
-                throw new IllegalArgumentException("Cannot convert Identifier with value '" + value + "' to " + type.getName());
-            }
+        if (type == Long.class || type == long.class || type == Number.class) {
+            return (X) toLong(value, type);
+        }
+
+        if (type == Integer.class || type == int.class) {
+            return (X) Integer.valueOf(Math.toIntExact(toLong(value, type)));
+        }
+
+        if (type == BigInteger.class) {
+            return (X) BigInteger.valueOf(toLong(value, type));
+        }
+
+        if (type == BigDecimal.class) {
+            return (X) BigDecimal.valueOf(toLong(value, type));
+        }
+
+        if (type == byte[].class) {
+            return (X) value.asString().getBytes(StandardCharsets.UTF_8);
         }
 
         throw new IllegalArgumentException("Cannot unwrap Identifier to " + type.getName());
     }
 
+    private static Long toLong(Identifier value, Class<?> type) {
+        if (value.isLong()) {
+            return value.asLong();
+        }
+        try {
+            return Long.valueOf(value.asString());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cannot convert Identifier with value '" + value + "' to " + type.getName());
+        }
+    }
+
     @Override
     public <X> Identifier wrap(X value, WrapperOptions options) {
         if (value == null) {
             return null;
         }
 
-        if (value instanceof String) {
-            return Identifier.of((String) value);
+        if (value instanceof Identifier identifier) {
+            return identifier;
+        }
+
+        if (value instanceof CharSequence string) {
+            // Numeric strings come back as long identifiers, like IdentifierType.nullSafeGet reads them
+            return fromString(string);
+        }
+
+        if (value instanceof Number number) {
+            return Identifier.of(number.longValue());
+        }
+
+        if (value instanceof byte[] bytes) {
+            return fromString(new String(bytes, StandardCharsets.UTF_8));
         }
 
-        if (value instanceof Long) {
-            return Identifier.of((Long) value);
+        if (value instanceof Character character) {
+            return fromString(character.toString());
         }
 
         throw new IllegalArgumentException("Cannot wrap " + value.getClass().getName() + " as Identifier");
@@ -0,0 +1,64 @@
+package com.example.idtypedemo.type;
+
+import com.example.idtypedemo.config.IdentifierSettings;
+import com.example.idtypedemo.domain.Identifier;
+import io.r2dbc.spi.Readable;
+
+/**
+ * R2DBC counterpart of {@link IdentifierType}.
+ * R2DBC has no portable codec SPI, so identifiers are converted to and from the driver's
+ * native values here: BIGINT columns bind numeric identifiers, including numeric strings, as
+ * {@code Long} like {@link IdentifierType#nullSafeSet}; VARCHAR columns bind {@code String} and
+ * read numeric strings back as long identifiers, exactly like {@link IdentifierType#nullSafeGet} does.
+ */
+public class IdentifierR2dbcCodec {
+
+    private final boolean nativeLong;
+
+    public IdentifierR2dbcCodec(IdentifierSettings settings) {
+        this.nativeLong = settings.isLongType() && settings.useNativeTypes();
+    }
+
+    /**
+     * Gets the Java type identifiers are bound as, used to bind {@code null} values.
+     */
+    public Class<?> encodedType() {
+        return nativeLong ? Long.class : String.class;
+    }
+
+    /**
+     * Converts an identifier to the value bound to a statement parameter.
+     */
+    public Object encode(Identifier value) {
+        if (value == null) {
+            return null;
+        }
+        Long nativeValue = nativeLong ? IdentifierType.toLong(value) : null;
+        return nativeValue != null ? nativeValue : value.asString();
+    }
+
+    /**
+     * Converts a column value read from a row to an identifier.
+     */
+    public Identifier decode(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Number number) {
+            return Identifier.of(number.longValue());
+        }
+        String string = value.toString();
+        try {
+            return Identifier.of(Long.valueOf(string));
+        } catch (NumberFormatException e) {
+            return Identifier.of(string);
+        }
+    }
+
+    /**
+     * Reads the named column of a row as an identifier.
+     */
+    public Identifier decode(Readable row, String column) {
+        return decode(row.get(column));
+    }
+}
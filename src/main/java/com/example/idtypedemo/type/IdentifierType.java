@@ -2,9 +2,13 @@ package com.example.idtypedemo.type;
 
 import com.example.idtypedemo.config.ConfigurationLoader;
 import com.example.idtypedemo.config.IdentifierProperties;
+import com.example.idtypedemo.config.IdentifierSettings;
 import com.example.idtypedemo.domain.Identifier;
+import org.hibernate.cache.MutableCacheKeyBuilder;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
-import org.hibernate.usertype.UserType;
+import org.hibernate.type.descriptor.java.JavaType;
+import org.hibernate.type.descriptor.java.JavaTypedExpressible;
+import org.hibernate.usertype.EnhancedUserType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -22,30 +26,31 @@ import java.util.logging.Logger;
  * Maps the Identifier to the appropriate database column type (BIGINT or VARCHAR)
  * based on configuration settings.
  * <p>
- * This implementation loads configuration directly from property files for maximum compatibility
- * across different deployment scenarios.
+ * The application registers its Spring-managed instance for every {@code Identifier} attribute through
+ * {@link IdentifierTypeContributor}; its settings come from the bound {@link IdentifierProperties}.
+ * An instance created with the no-args constructor reads them from the {@link ConfigurationLoader} snapshot.
+ * <p>
+ * Exposes an {@link IdentifierJavaTypeDescriptor} for the same JDBC type as its Java type, so Hibernate
+ * treats {@code Identifier} like a native basic type in HQL and criteria queries: parameters of other
+ * Java types are coerced through it, and literals are rendered in the column's type.
  */
 @Component
-public class IdentifierType implements UserType<Identifier> {
+public class IdentifierType implements EnhancedUserType<Identifier>, JavaTypedExpressible<Identifier> {
     
     private static final Logger logger = Logger.getLogger(IdentifierType.class.getName());
     
-    // Default values for configuration
-    private static final String DEFAULT_ID_TYPE = "LONG";
-    private static final boolean DEFAULT_USE_NATIVE_TYPES = true;
-    private static final boolean DEFAULT_STRING_EQUALITY_CHECK = true;
-    private static final boolean DEFAULT_AUTO_CONVERT = true;
-    
     // Lazy-initialized dependencies
     private DatabaseTypeResolver databaseTypeResolver;
     private IdentifierProperties identifierProperties;
     
     @Value("${identifier.use.native.types:true}")
     private boolean useNativeTypes = true;
+    
+    // Mapping resolved once on first use and safely published through the volatile field
+    private volatile ResolvedMapping mapping;
 
     /**
-     * No-args constructor required by Hibernate for direct instantiation.
-     * Dependencies will be lazily loaded from properties files.
+     * No-args constructor for use outside Spring. Dependencies will be lazily loaded from properties files.
      */
     public IdentifierType() {
         logger.fine("IdentifierType instantiated via no-args constructor");
@@ -62,65 +67,60 @@ public class IdentifierType implements UserType<Identifier> {
     }
 
     /**
-     * Gets database type resolver, creating a default one if needed.
+     * Gets the resolved mapping, resolving it on first use.
+     * Resolution is deferred until first use so that Spring field injection has completed;
+     * afterwards every call is a single volatile read with no property lookups.
      */
-    private DatabaseTypeResolver getDatabaseTypeResolver() {
-        if (databaseTypeResolver == null) {
-            logger.fine("Creating default DatabaseTypeResolver");
-            databaseTypeResolver = new DefaultDatabaseTypeResolver();
+    private ResolvedMapping mapping() {
+        ResolvedMapping resolved = mapping;
+        if (resolved == null) {
+            resolved = resolveMapping();
+            mapping = resolved;
         }
-        return databaseTypeResolver;
+        return resolved;
     }
     
     /**
-     * Gets identifier properties, creating a default one from properties if needed.
+     * Resolves the settings from the injected properties, or from the configuration loader
+     * snapshot when Hibernate instantiated this type directly.
      */
-    private IdentifierProperties getIdentifierProperties() {
-        if (identifierProperties == null) {
-            logger.fine("Creating IdentifierProperties from properties");
-            IdentifierProperties defaultProps = new IdentifierProperties();
-            
-            // Load values from the configuration loader
-            String defaultType = ConfigurationLoader.getProperty("identifier.type", DEFAULT_ID_TYPE);
-            boolean stringEqualityCheck = ConfigurationLoader.getBooleanProperty(
-                    "identifier.string.equality.check", DEFAULT_STRING_EQUALITY_CHECK);
-            boolean autoConvert = ConfigurationLoader.getBooleanProperty(
-                    "identifier.auto.convert.string.to.long", DEFAULT_AUTO_CONVERT);
-            
-            defaultProps.setDefaultType(defaultType);
-            defaultProps.setStringEqualityCheck(stringEqualityCheck);
-            defaultProps.setAutoConvertStringToLong(autoConvert);
-            identifierProperties = defaultProps;
-            
-            logger.fine("Created IdentifierProperties with type=" + defaultType + 
-                         ", stringEqualityCheck=" + stringEqualityCheck + 
-                         ", autoConvert=" + autoConvert);
+    private ResolvedMapping resolveMapping() {
+        IdentifierSettings loaded = ConfigurationLoader.getIdentifierSettings();
+        // Native types are used only if neither Spring nor the configuration files disable them
+        boolean nativeTypes = useNativeTypes && loaded.useNativeTypes();
+        IdentifierSettings settings = identifierProperties != null
+                ? IdentifierSettings.from(identifierProperties, nativeTypes, loaded.stringLength())
+                : new IdentifierSettings(loaded.type(), nativeTypes, loaded.stringEqualityCheck(),
+                        loaded.autoConvertStringToLong(), loaded.stringLength());
+        
+        if (databaseTypeResolver == null) {
+            logger.fine("Creating default DatabaseTypeResolver");
+            databaseTypeResolver = new DefaultDatabaseTypeResolver();
         }
+        // Fallback to VARCHAR if native types disabled
+        int sqlType = settings.useNativeTypes() ? databaseTypeResolver.resolveSqlType(settings.type()) : Types.VARCHAR;
         
-        return identifierProperties;
+        logger.fine("Resolved IdentifierType settings: " + settings);
+        return new ResolvedMapping(settings, sqlType, settings.isLongType() && settings.useNativeTypes(),
+                settings.stringEqualityCheck(), new IdentifierJavaTypeDescriptor(settings, sqlType));
     }
 
     /**
-     * Gets the value of useNativeTypes property.
-     * Tries to use the value injected by Spring, otherwise falls back to direct properties.
+     * Gets the settings this type maps identifiers with, for codecs that must store
+     * identifiers exactly like this type does.
      */
-    private boolean isUseNativeTypes() {
-        // If Spring has not injected a value (i.e., it's still the default),
-        // try to get it from configuration loader
-        if (this.useNativeTypes == DEFAULT_USE_NATIVE_TYPES) {
-            return ConfigurationLoader.getBooleanProperty("identifier.use.native.types", DEFAULT_USE_NATIVE_TYPES);
-        }
-        return this.useNativeTypes;
+    public IdentifierSettings getSettings() {
+        return mapping().settings();
     }
 
     @Override
     public int getSqlType() {
-        if (isUseNativeTypes()) {
-            Identifier.Type idType = Identifier.Type.valueOf(getIdentifierProperties().getDefaultType().toUpperCase());
-            return getDatabaseTypeResolver().resolveSqlType(idType);
-        }
-        // Fallback to VARCHAR if native types disabled
-        return Types.VARCHAR;
+        return mapping().sqlType();
+    }
+
+    @Override
+    public JavaType<Identifier> getExpressibleJavaType() {
+        return mapping().javaType();
     }
 
     @Override
@@ -128,14 +128,81 @@ public class IdentifierType implements UserType<Identifier> {
         return Identifier.class;
     }
 
+    /**
+     * Same result as {@link Identifier#equals}, without formatting long values as strings:
+     * Hibernate calls this for every managed entity on every flush and for every entity key lookup.
+     */
     @Override
     public boolean equals(Identifier x, Identifier y) {
-        return Objects.equals(x, y);
+        if (x == y) {
+            return true;
+        }
+        if (x == null || y == null) {
+            return false;
+        }
+        if (!mapping().stringEquality()) {
+            return x.getType() == y.getType() && x.getValue().equals(y.getValue());
+        }
+        if (x.isLong()) {
+            long longValue = (Long) x.getValue();
+            return y.isLong() ? longValue == (Long) y.getValue() : isDecimal((String) y.getValue(), longValue);
+        }
+        return y.isLong() ? isDecimal((String) x.getValue(), (Long) y.getValue()) : x.getValue().equals(y.getValue());
     }
 
+    /**
+     * Same result as {@link Identifier#hashCode}, without formatting long values as strings.
+     */
     @Override
     public int hashCode(Identifier x) {
-        return Objects.hashCode(x);
+        if (x == null) {
+            return 0;
+        }
+        if (!mapping().stringEquality()) {
+            // Objects.hash(value, type) without the varargs array
+            return 31 * (31 + x.getValue().hashCode()) + x.getType().hashCode();
+        }
+        return x.isLong() ? decimalHashCode((Long) x.getValue()) : x.getValue().hashCode();
+    }
+
+    /**
+     * Whether {@code string} equals {@code Long.toString(value)}, compared digit by digit from the end.
+     */
+    static boolean isDecimal(String string, long value) {
+        int start = 0;
+        if (value < 0) {
+            if (string.isEmpty() || string.charAt(0) != '-') {
+                return false;
+            }
+            start = 1;
+        }
+        int index = string.length();
+        long rest = value;
+        do {
+            if (--index < start || string.charAt(index) != '0' + (int) Math.abs(rest % 10)) {
+                return false;
+            }
+            rest /= 10;
+        } while (rest != 0);
+        return index == start;
+    }
+
+    /**
+     * {@code Long.toString(value).hashCode()}, summing the digits' terms from the least significant one.
+     */
+    static int decimalHashCode(long value) {
+        int hash = 0;
+        int power = 1;
+        long rest = value;
+        do {
+            hash += ('0' + (int) Math.abs(rest % 10)) * power;
+            power *= 31;
+            rest /= 10;
+        } while (rest != 0);
+        if (value < 0) {
+            hash += '-' * power;
+        }
+        return hash;
     }
 
     @Override
@@ -143,7 +210,7 @@ public class IdentifierType implements UserType<Identifier> {
             throws SQLException {
         
         // For Long-configured system, try to read as BIGINT first
-        if (isLongTypeSystem() && isUseNativeTypes()) {
+        if (mapping().nativeLong()) {
             Long longValue = rs.getLong(position);
             if (!rs.wasNull()) {
                 return Identifier.of(longValue);
@@ -171,25 +238,69 @@ public class IdentifierType implements UserType<Identifier> {
     public void nullSafeSet(PreparedStatement st, Identifier value, int index, SharedSessionContractImplementor session) 
             throws SQLException {
         
+        ResolvedMapping resolved = mapping();
         if (value == null) {
-            st.setNull(index, getSqlType());
+            st.setNull(index, resolved.sqlType());
             return;
         }
         
-        // For Long-configured system with native types, use direct BIGINT for Long values
-        if (isLongTypeSystem() && isUseNativeTypes() && value.isLong()) {
-            st.setLong(index, value.asLong());
-        } 
-        // For String-configured system with native types, use direct VARCHAR for String values
-        else if (isStringTypeSystem() && isUseNativeTypes() && value.isString()) {
-            st.setString(index, value.asString());
+        // For Long-configured system with native types, bind BIGINT for Long values and numeric
+        // strings alike: the bound type of a parameter then only depends on the mapping, so drivers
+        // caching server-side prepared statements never re-prepare because an Identifier's type changed
+        Long nativeValue = resolved.nativeLong() ? toLong(value) : null;
+        if (nativeValue != null) {
+            st.setLong(index, nativeValue);
         }
-        // Otherwise, use simple string representation
+        // Otherwise, use simple string representation (VARCHAR)
         else {
             st.setString(index, value.asString());
         }
     }
 
+    /**
+     * Gets the value bound to a native long column: the long value, or null if the identifier is not numeric.
+     * Shared with {@link IdentifierR2dbcCodec}, so both paths bind the same values.
+     */
+    static Long toLong(Identifier value) {
+        if (value.isLong()) {
+            return value.asLong();
+        }
+        try {
+            return Long.valueOf(value.asString());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Renders a BIGINT literal for numeric identifiers in a native long column, a quoted string otherwise.
+     */
+    @Override
+    public String toSqlLiteral(Identifier value) {
+        Long nativeValue = mapping().nativeLong() ? toLong(value) : null;
+        if (nativeValue != null) {
+            return nativeValue.toString();
+        }
+        return "'" + value.asString().replace("'", "''") + "'";
+    }
+
+    @Override
+    public String toString(Identifier value) {
+        return mapping().javaType().toString(value);
+    }
+
+    @Override
+    public Identifier fromStringValue(CharSequence sequence) {
+        return mapping().javaType().fromString(sequence);
+    }
+
+    @Override
+    public void addToCacheKey(MutableCacheKeyBuilder cacheKey, Object value, SharedSessionContractImplementor session) {
+        Identifier identifier = (Identifier) value;
+        cacheKey.addValue(disassemble(identifier));
+        cacheKey.addHashCode(hashCode(identifier));
+    }
+
     @Override
     public Identifier deepCopy(Identifier value) {
         return value; // Identifier is immutable
@@ -200,13 +311,18 @@ public class IdentifierType implements UserType<Identifier> {
         return false;
     }
 
+    /**
+     * Returns the compact form used for second-level cache keys and entries:
+     * the boxed {@code Long} for long identifiers, or the {@code String} otherwise.
+     * {@link #assemble} restores the identifier with the same type, without parsing.
+     */
     @Override
     public Serializable disassemble(Identifier value) {
         if (value == null) {
             return null;
         }
         
-        return value.asString();
+        return value.isLong() ? value.asLong() : value.asString();
     }
 
     @Override
@@ -215,14 +331,11 @@ public class IdentifierType implements UserType<Identifier> {
             return null;
         }
         
-        String value = cached.toString();
-        
-        // Try to parse as Long if possible
-        try {
-            return Identifier.of(Long.valueOf(value));
-        } catch (NumberFormatException e) {
-            return Identifier.of(value);
+        if (cached instanceof Long longValue) {
+            return Identifier.of(longValue);
         }
+        // A cached String was a STRING identifier; auto-conversion would turn numeric ones into LONG
+        return Identifier.ofString((String) cached);
     }
 
     @Override
@@ -231,16 +344,15 @@ public class IdentifierType implements UserType<Identifier> {
     }
 
     /**
-     * Check if the system is configured to use Long IDs
-     */
-    private boolean isLongTypeSystem() {
-        return getIdentifierProperties() != null && "LONG".equalsIgnoreCase(getIdentifierProperties().getDefaultType());
-    }
-    
-    /**
-     * Check if the system is configured to use String IDs
+     * Resolved configuration together with the values derived from it for the row path.
+     *
+     * @param settings       the resolved identifier settings
+     * @param sqlType        the JDBC type code of the mapped column
+     * @param nativeLong     whether identifiers are stored in a native BIGINT column
+     * @param stringEquality whether identifiers compare by their string form, like {@link Identifier#equals}
+     * @param javaType       the Java type descriptor recommending {@code sqlType}
      */
-    private boolean isStringTypeSystem() {
-        return getIdentifierProperties() != null && "STRING".equalsIgnoreCase(getIdentifierProperties().getDefaultType());
+    private record ResolvedMapping(IdentifierSettings settings, int sqlType, boolean nativeLong,
+                                   boolean stringEquality, IdentifierJavaTypeDescriptor javaType) {
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
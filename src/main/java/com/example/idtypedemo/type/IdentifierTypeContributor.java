@@ -0,0 +1,36 @@
+package com.example.idtypedemo.type;
+
+import com.example.idtypedemo.domain.Identifier;
+import org.hibernate.boot.model.TypeContributions;
+import org.hibernate.boot.model.TypeContributor;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.service.ServiceRegistry;
+
+/**
+ * Registers one {@link IdentifierType} per session factory as the basic type of {@link Identifier},
+ * so it applies to every {@code Identifier} attribute, IDs and embeddables included, without
+ * {@code @Type} annotations and without Hibernate instantiating a type per attribute.
+ * <p>
+ * Hibernate discovers the contributor through the {@code ServiceLoader}. The type itself is the
+ * Spring-managed one, which {@code HibernateConfig} passes in the {@link #IDENTIFIER_TYPE} setting;
+ * without that setting nothing is registered.
+ */
+public class IdentifierTypeContributor implements TypeContributor {
+
+    /**
+     * Hibernate setting holding the {@link IdentifierType} instance to register.
+     */
+    public static final String IDENTIFIER_TYPE = "idtypedemo.identifier_type";
+
+    static final String REGISTRATION_KEY = "identifier";
+
+    @Override
+    public void contribute(TypeContributions typeContributions, ServiceRegistry serviceRegistry) {
+        Object setting = serviceRegistry.requireService(ConfigurationService.class).getSettings().get(IDENTIFIER_TYPE);
+        if (setting instanceof IdentifierType identifierType) {
+            typeContributions.contributeJavaType(identifierType.getExpressibleJavaType());
+            typeContributions.getTypeConfiguration().getBasicTypeRegistry()
+                    .register(identifierType, Identifier.class.getName(), REGISTRATION_KEY);
+        }
+    }
+}
@@ -2,10 +2,14 @@ package com.example.idtypedemo.version.aspect;
 
 import com.example.idtypedemo.version.collector.VersionInfoCollector;
 import com.example.idtypedemo.version.config.VersionTrackingProperties;
+import com.example.idtypedemo.version.contention.HotEntityDetector;
 import com.example.idtypedemo.version.filter.BusinessStackTraceFilter;
+import com.example.idtypedemo.version.metrics.VersionMetrics;
+import jakarta.persistence.OptimisticLockException;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.hibernate.StaleStateException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -21,14 +25,20 @@ public class VersionTrackingAspect {
     private final VersionInfoCollector versionInfoCollector;
     private final BusinessStackTraceFilter stackTraceFilter;
     private final VersionTrackingProperties properties;
+    private final VersionMetrics versionMetrics;
+    private final HotEntityDetector hotEntityDetector;
 
     public VersionTrackingAspect(
             VersionInfoCollector versionInfoCollector,
             BusinessStackTraceFilter stackTraceFilter,
-            VersionTrackingProperties properties) {
+            VersionTrackingProperties properties,
+            VersionMetrics versionMetrics,
+            HotEntityDetector hotEntityDetector) {
         this.versionInfoCollector = versionInfoCollector;
         this.stackTraceFilter = stackTraceFilter;
         this.properties = properties;
+        this.versionMetrics = versionMetrics;
+        this.hotEntityDetector = hotEntityDetector;
     }
 
     @Around("execution(* jakarta.persistence.EntityManager.merge(..)) || " +
@@ -44,20 +54,41 @@ public class VersionTrackingAspect {
             return pjp.proceed();
         }
 
-        Object oldVersion = versionInfoCollector.getVersionValue(entity);
-        Object result = pjp.proceed();
-        Object newVersion = versionInfoCollector.getVersionValue(entity);
+        long start = System.nanoTime();
+        try {
+            Object oldVersion = versionInfoCollector.getVersionValue(entity);
+            Object result = proceed(pjp, entity);
+            Object newVersion = versionInfoCollector.getVersionValue(entity);
 
-        if (!Objects.equals(oldVersion, newVersion)) {
-            logVersionChange(entity, oldVersion, newVersion);
+            if (!Objects.equals(oldVersion, newVersion)) {
+                versionMetrics.recordVersionBump(entity.getClass());
+                hotEntityDetector.recordVersionBump(entity.getClass(),
+                        versionInfoCollector.getIdValue(entity), stackTraceFilter::filterStackTrace);
+                logVersionChange(entity, oldVersion, newVersion);
+            }
+
+            return result;
+        } finally {
+            versionMetrics.recordTrackDuration(System.nanoTime() - start);
         }
+    }
 
-        return result;
+    private Object proceed(ProceedingJoinPoint pjp, Object entity) throws Throwable {
+        try {
+            return pjp.proceed();
+        } catch (OptimisticLockException | StaleStateException e) {
+            versionMetrics.recordConflict(entity.getClass());
+            hotEntityDetector.recordConflict(entity.getClass(),
+                    versionInfoCollector.getIdValue(entity), stackTraceFilter::filterStackTrace);
+            throw e;
+        }
     }
 
     private void logVersionChange(Object entity, Object oldVersion, Object newVersion) {
         if (log.isDebugEnabled()) {
+            long captureStart = System.nanoTime();
             String stackTrace = stackTraceFilter.getFilteredStackTraceAsString();
+            versionMetrics.recordStackCapture(System.nanoTime() - captureStart);
             log.debug("""
                 Entity: {}
                 ID: {}
@@ -4,27 +4,42 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import jakarta.persistence.Id;
 import jakarta.persistence.Version;
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.util.Arrays;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class VersionInfoCollector {
     private static final Logger log = LoggerFactory.getLogger(VersionInfoCollector.class);
     private final ConcurrentHashMap<Class<?>, Field> versionFieldCache = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Class<?>, Optional<Field>> idFieldCache = new ConcurrentHashMap<>();
 
     public Object getVersionValue(Object entity) {
         if (entity == null) {
             return null;
         }
+        return readField(entity, getVersionField(entity.getClass()));
+    }
+
+    public Object getIdValue(Object entity) {
+        if (entity == null) {
+            return null;
+        }
+        return readField(entity, idFieldCache
+                .computeIfAbsent(entity.getClass(), type -> Optional.ofNullable(findAnnotatedField(type, Id.class)))
+                .orElse(null));
+    }
 
-        Field versionField = getVersionField(entity.getClass());
-        if (versionField != null) {
+    private Object readField(Object entity, Field field) {
+        if (field != null) {
             try {
-                return versionField.get(entity);
+                return field.get(entity);
             } catch (IllegalAccessException e) {
-                log.warn("Failed to get version value for entity: {}", entity.getClass().getName(), e);
+                log.warn("Failed to read {} for entity: {}", field.getName(), entity.getClass().getName(), e);
             }
         }
         return null;
@@ -35,8 +50,12 @@ public class VersionInfoCollector {
     }
 
     private Field findVersionField(Class<?> entityClass) {
+        return findAnnotatedField(entityClass, Version.class);
+    }
+
+    private Field findAnnotatedField(Class<?> entityClass, Class<? extends Annotation> annotation) {
         return Arrays.stream(entityClass.getDeclaredFields())
-                .filter(field -> field.isAnnotationPresent(Version.class))
+                .filter(field -> field.isAnnotationPresent(annotation))
                 .findFirst()
                 .map(field -> {
                     field.setAccessible(true);
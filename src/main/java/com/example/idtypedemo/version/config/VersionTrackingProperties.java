@@ -11,6 +11,7 @@ public class VersionTrackingProperties {
     private List<String> businessPackages = new ArrayList<>();
     private List<String> excludePackages = new ArrayList<>();
     private int maxStackDepth = 10;
+    private int hotEntityCapacity = 128;
 
     public boolean isEnabled() {
         return enabled;
@@ -43,4 +44,12 @@ public class VersionTrackingProperties {
     public void setMaxStackDepth(int maxStackDepth) {
         this.maxStackDepth = maxStackDepth;
     }
-} 
\ No newline at end of file
+
+    public int getHotEntityCapacity() {
+        return hotEntityCapacity;
+    }
+
+    public void setHotEntityCapacity(int hotEntityCapacity) {
+        this.hotEntityCapacity = hotEntityCapacity;
+    }
+}
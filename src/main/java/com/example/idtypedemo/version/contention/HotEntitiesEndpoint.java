@@ -0,0 +1,28 @@
+package com.example.idtypedemo.version.contention;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator端点，列出版本竞争最激烈的实体行及其业务堆栈：{@code GET /actuator/hotentities?limit=10}
+ */
+@Component
+@Endpoint(id = "hotentities")
+public class HotEntitiesEndpoint {
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final HotEntityDetector hotEntityDetector;
+
+    public HotEntitiesEndpoint(HotEntityDetector hotEntityDetector) {
+        this.hotEntityDetector = hotEntityDetector;
+    }
+
+    @ReadOperation
+    public List<HotEntity> hotEntities(@Nullable Integer limit) {
+        return hotEntityDetector.topHotEntities(limit == null ? DEFAULT_LIMIT : limit);
+    }
+}
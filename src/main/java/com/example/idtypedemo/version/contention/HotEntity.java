@@ -0,0 +1,17 @@
+package com.example.idtypedemo.version.contention;
+
+import java.util.List;
+
+/**
+ * 热点实体行的报告条目
+ *
+ * @param entity        实体类名
+ * @param id            实体ID
+ * @param contention    版本变更与乐观锁冲突的估计次数
+ * @param error         估计值的误差上界
+ * @param conflicts     乐观锁冲突次数
+ * @param businessStack 最近一次采样的业务堆栈
+ */
+public record HotEntity(String entity, String id, long contention, long error, long conflicts,
+                        List<String> businessStack) {
+}
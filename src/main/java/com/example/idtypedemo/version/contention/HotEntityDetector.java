@@ -0,0 +1,71 @@
+package com.example.idtypedemo.version.contention;
+
+import com.example.idtypedemo.version.config.VersionTrackingProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 识别版本号变更最频繁的实体行，用于定位引发OptimisticLockException风暴的数据。
+ * 以"实体类 + ID"为键维护一个容量有界的Space-Saving草图，内存占用与实体数量无关。
+ * 业务堆栈只在计数器（重新）分配给键时，以及键自身的计数（count - error）达到2的幂时采样，
+ * 避免每次变更都付出堆栈采集的开销。继承了被替换键计数的新热点行因此也会立即采样。
+ */
+@Component
+public class HotEntityDetector {
+
+    private final SpaceSavingSketch<HotEntityKey, ContentionStats> sketch;
+
+    public HotEntityDetector(VersionTrackingProperties properties) {
+        this.sketch = new SpaceSavingSketch<>(properties.getHotEntityCapacity(), ContentionStats::new);
+    }
+
+    public void recordVersionBump(Class<?> entityClass, Object id, Supplier<String[]> businessStack) {
+        record(entityClass, id, businessStack, false);
+    }
+
+    public void recordConflict(Class<?> entityClass, Object id, Supplier<String[]> businessStack) {
+        record(entityClass, id, businessStack, true);
+    }
+
+    /**
+     * 按竞争次数降序返回前{@code k}个热点实体
+     */
+    public List<HotEntity> topHotEntities(int k) {
+        return sketch.top(k).stream()
+                .map(counter -> new HotEntity(
+                        counter.getKey().entityClass().getName(),
+                        String.valueOf(counter.getKey().id()),
+                        counter.getCount(),
+                        counter.getError(),
+                        counter.getPayload().conflicts.sum(),
+                        List.of(counter.getPayload().businessStack)))
+                .toList();
+    }
+
+    private void record(Class<?> entityClass, Object id, Supplier<String[]> businessStack, boolean conflict) {
+        if (id == null) {
+            return;
+        }
+        sketch.offer(new HotEntityKey(entityClass, id), (assigned, count) -> {
+            // 在分段锁内更新，避免计数器在此期间被重新分配给其他键后把冲突记到错误的实体上
+            if (conflict) {
+                assigned.getPayload().conflicts.increment();
+            }
+            // count - error == 1 即计数器刚被分配给该键
+            if (Long.bitCount(count - assigned.getError()) == 1) {
+                assigned.getPayload().businessStack = businessStack.get();
+            }
+        });
+    }
+
+    private record HotEntityKey(Class<?> entityClass, Object id) {
+    }
+
+    private static final class ContentionStats {
+        private final LongAdder conflicts = new LongAdder();
+        private volatile String[] businessStack = new String[0];
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.idtypedemo.version.contention;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Space-Saving heavy-hitters算法（Metwally et al.）。
+ * 最多保留{@code capacity}个计数器；新键到来且已满时，替换计数最小的键，
+ * 新计数器继承其计数作为误差上界，因此任何真实频率超过 N/capacity 的键都一定会被保留。
+ * <p>
+ * 计数器按Stream-Summary结构组织：相同计数的计数器挂在同一个桶上，桶按计数升序链接，
+ * 因此计数加一和找到最小计数器都是O(1)。容量较大时按键的哈希分为多个分段，
+ * 每个分段有独立的锁和 capacity/分段数 个计数器，并发写入不会争用同一把锁；
+ * 此时保证针对分段成立：在分段内真实频率超过 N分段/分段容量 的键一定会被保留。
+ *
+ * @param <K> 键类型
+ * @param <V> 与键绑定的附加数据，键被替换时随之重建
+ */
+public class SpaceSavingSketch<K, V> {
+
+    private static final int MAX_STRIPES = 16;
+    private static final int MIN_STRIPE_CAPACITY = 32;
+
+    private final Supplier<V> payloadFactory;
+    private final Stripe<K, V>[] stripes;
+
+    @SuppressWarnings("unchecked")
+    public SpaceSavingSketch(int capacity, Supplier<V> payloadFactory) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Sketch capacity must be positive");
+        }
+        this.payloadFactory = payloadFactory;
+        int stripeCount = Integer.highestOneBit(Math.max(1, Math.min(MAX_STRIPES, capacity / MIN_STRIPE_CAPACITY)));
+        this.stripes = (Stripe<K, V>[]) new Stripe<?, ?>[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            // 余数分给前几个分段，使分段容量之和恰好为capacity
+            stripes[i] = new Stripe<>(capacity / stripeCount + (i < capacity % stripeCount ? 1 : 0));
+        }
+    }
+
+    /**
+     * 记录一次键的出现，返回该键的计数器
+     */
+    public Counter<K, V> offer(K key) {
+        return offer(key, null);
+    }
+
+    /**
+     * 记录一次键的出现，返回该键的计数器。
+     * {@code onIncrement}在持有分段锁时以计数器和加一后的计数调用，
+     * 因此计数器被（重新）分配给该键时，其看到的计数一定是{@code error + 1}。
+     */
+    public Counter<K, V> offer(K key, ObjLongConsumer<Counter<K, V>> onIncrement) {
+        Stripe<K, V> stripe = stripes[stripeIndex(key)];
+        stripe.lock.lock();
+        try {
+            Counter<K, V> counter = stripe.counters.get(key);
+            if (counter == null) {
+                counter = stripe.assign(key, payloadFactory);
+            }
+            long count = stripe.increment(counter);
+            if (onIncrement != null) {
+                onIncrement.accept(counter, count);
+            }
+            return counter;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * 按计数降序返回前{@code k}个计数器
+     */
+    public List<Counter<K, V>> top(int k) {
+        List<Counter<K, V>> sorted = new ArrayList<>();
+        for (Stripe<K, V> stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                sorted.addAll(stripe.counters.values());
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        sorted.sort(Comparator.comparingLong((Counter<K, V> c) -> c.count).reversed());
+        return List.copyOf(sorted.subList(0, Math.min(k, sorted.size())));
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe<K, V> stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.counters.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    private int stripeIndex(K key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+
+    /**
+     * 一个分段：键到计数器的映射，加上按计数升序链接的桶
+     */
+    private static final class Stripe<K, V> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final int capacity;
+        private final Map<K, Counter<K, V>> counters;
+        // 计数最小的桶
+        private Bucket<K, V> head;
+
+        private Stripe(int capacity) {
+            this.capacity = capacity;
+            this.counters = new HashMap<>(capacity * 2);
+        }
+
+        /**
+         * 为新键分配计数器：未满时从0开始，已满时替换计数最小的计数器并继承其计数
+         */
+        private Counter<K, V> assign(K key, Supplier<V> payloadFactory) {
+            Counter<K, V> counter;
+            if (counters.size() >= capacity) {
+                Bucket<K, V> min = head;
+                Counter<K, V> evicted = min.first;
+                counters.remove(evicted.key);
+                min.remove(evicted);
+                counter = new Counter<>(key, min.count, payloadFactory.get());
+                min.add(counter);
+            } else {
+                if (head == null || head.count != 0) {
+                    head = linkAfter(null, 0);
+                }
+                counter = new Counter<>(key, 0, payloadFactory.get());
+                head.add(counter);
+            }
+            counters.put(key, counter);
+            return counter;
+        }
+
+        /**
+         * 计数加一：移到计数相邻的下一个桶，必要时创建该桶，并回收空桶
+         */
+        private long increment(Counter<K, V> counter) {
+            Bucket<K, V> bucket = counter.bucket;
+            long count = bucket.count + 1;
+            Bucket<K, V> target = bucket.next;
+            if (target == null || target.count != count) {
+                target = linkAfter(bucket, count);
+            }
+            bucket.remove(counter);
+            if (bucket.first == null) {
+                unlink(bucket);
+            }
+            target.add(counter);
+            counter.count = count;
+            return count;
+        }
+
+        private Bucket<K, V> linkAfter(Bucket<K, V> previous, long count) {
+            Bucket<K, V> bucket = new Bucket<>(count);
+            bucket.previous = previous;
+            bucket.next = previous == null ? head : previous.next;
+            if (bucket.next != null) {
+                bucket.next.previous = bucket;
+            }
+            if (previous == null) {
+                head = bucket;
+            } else {
+                previous.next = bucket;
+            }
+            return bucket;
+        }
+
+        private void unlink(Bucket<K, V> bucket) {
+            if (bucket.previous == null) {
+                head = bucket.next;
+            } else {
+                bucket.previous.next = bucket.next;
+            }
+            if (bucket.next != null) {
+                bucket.next.previous = bucket.previous;
+            }
+        }
+    }
+
+    /**
+     * 计数相同的计数器组成的双向链表
+     */
+    private static final class Bucket<K, V> {
+        private final long count;
+        private Bucket<K, V> previous;
+        private Bucket<K, V> next;
+        private Counter<K, V> first;
+
+        private Bucket(long count) {
+            this.count = count;
+        }
+
+        private void add(Counter<K, V> counter) {
+            counter.bucket = this;
+            counter.previous = null;
+            counter.next = first;
+            if (first != null) {
+                first.previous = counter;
+            }
+            first = counter;
+        }
+
+        private void remove(Counter<K, V> counter) {
+            if (counter.previous == null) {
+                first = counter.next;
+            } else {
+                counter.previous.next = counter.next;
+            }
+            if (counter.next != null) {
+                counter.next.previous = counter.previous;
+            }
+            counter.bucket = null;
+            counter.previous = null;
+            counter.next = null;
+        }
+    }
+
+    public static final class Counter<K, V> {
+        private final K key;
+        private final long error;
+        private final V payload;
+        private volatile long count;
+        // 以下字段只在持有分段锁时访问
+        private Bucket<K, V> bucket;
+        private Counter<K, V> previous;
+        private Counter<K, V> next;
+
+        private Counter(K key, long error, V payload) {
+            this.key = key;
+            this.error = error;
+            this.count = error;
+            this.payload = payload;
+        }
+
+        public K getKey() {
+            return key;
+        }
+
+        /**
+         * 估计计数，真实计数位于 [count - error, count]
+         */
+        public long getCount() {
+            return count;
+        }
+
+        public long getError() {
+            return error;
+        }
+
+        public V getPayload() {
+            return payload;
+        }
+    }
+}
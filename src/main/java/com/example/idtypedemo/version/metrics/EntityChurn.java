@@ -0,0 +1,11 @@
+package com.example.idtypedemo.version.metrics;
+
+/**
+ * 单个实体类的版本变更统计快照
+ *
+ * @param entity       实体类名
+ * @param versionBumps 版本号递增次数
+ * @param conflicts    乐观锁冲突次数
+ */
+public record EntityChurn(String entity, long versionBumps, long conflicts) {
+}
@@ -0,0 +1,28 @@
+package com.example.idtypedemo.version.metrics;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator端点，按版本变更次数列出最热的实体类：{@code GET /actuator/versionchurn?limit=10}
+ */
+@Component
+@Endpoint(id = "versionchurn")
+public class VersionChurnEndpoint {
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final VersionMetrics versionMetrics;
+
+    public VersionChurnEndpoint(VersionMetrics versionMetrics) {
+        this.versionMetrics = versionMetrics;
+    }
+
+    @ReadOperation
+    public List<EntityChurn> hottestEntities(@Nullable Integer limit) {
+        return versionMetrics.hottestEntities(limit == null ? DEFAULT_LIMIT : limit);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.idtypedemo.version.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 版本跟踪的Micrometer指标。
+ * 计数器使用{@link LongAdder}分段累加，注册为{@link FunctionCounter}，
+ * 因此记录路径上不存在共享的竞争点。
+ */
+@Component
+public class VersionMetrics {
+    static final String VERSION_BUMPS = "version.tracking.bumps";
+    static final String CONFLICTS = "version.tracking.conflicts";
+    static final String TRACK_DURATION = "version.tracking.duration";
+    static final String STACK_CAPTURE_DURATION = "version.tracking.stack.capture";
+
+    private final MeterRegistry registry;
+    private final ConcurrentHashMap<Class<?>, LongAdder> versionBumps = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Class<?>, LongAdder> conflicts = new ConcurrentHashMap<>();
+    private final Timer trackTimer;
+    private final Timer stackCaptureTimer;
+
+    public VersionMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.trackTimer = Timer.builder(TRACK_DURATION)
+                .description("Time spent in version tracking around EntityManager calls")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.stackCaptureTimer = Timer.builder(STACK_CAPTURE_DURATION)
+                .description("Time spent capturing and filtering the business stack")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public void recordVersionBump(Class<?> entityClass) {
+        versionBumps.computeIfAbsent(entityClass, type -> register(VERSION_BUMPS, type)).increment();
+    }
+
+    public void recordConflict(Class<?> entityClass) {
+        conflicts.computeIfAbsent(entityClass, type -> register(CONFLICTS, type)).increment();
+    }
+
+    public void recordTrackDuration(long nanos) {
+        trackTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordStackCapture(long nanos) {
+        stackCaptureTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 按版本变更次数降序返回最热的实体类，次数相同时按冲突次数降序；
+     * 只有冲突而没有版本变更的实体类也包括在内
+     */
+    public List<EntityChurn> hottestEntities(int limit) {
+        Set<Class<?>> entityClasses = new HashSet<>(versionBumps.keySet());
+        entityClasses.addAll(conflicts.keySet());
+        return entityClasses.stream()
+                .map(entityClass -> new EntityChurn(
+                        entityClass.getName(),
+                        sum(versionBumps.get(entityClass)),
+                        sum(conflicts.get(entityClass))))
+                .sorted(Comparator.comparingLong(EntityChurn::versionBumps)
+                        .thenComparingLong(EntityChurn::conflicts)
+                        .reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private LongAdder register(String name, Class<?> entityClass) {
+        LongAdder adder = new LongAdder();
+        FunctionCounter.builder(name, adder, LongAdder::sum)
+                .tag("entity", entityClass.getName())
+                .register(registry);
+        return adder;
+    }
+
+    private static long sum(LongAdder adder) {
+        return adder == null ? 0 : adder.sum();
+    }
+}
@@ -0,0 +1,18 @@
+-- Person table of one shard, created by ShardingConfig on each shard
+-- Departments are not sharded, so there is no foreign key to them
+CREATE TABLE IF NOT EXISTS person (
+    id VARCHAR(255) NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255),
+    age INTEGER,
+    department_id VARCHAR(255),
+    _tenant_id VARCHAR(255),
+    version BIGINT DEFAULT 0,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_person_name ON person (name);
+CREATE INDEX IF NOT EXISTS idx_person_email ON person (email);
+CREATE INDEX IF NOT EXISTS idx_person_age ON person (age);
+CREATE INDEX IF NOT EXISTS idx_person_department ON person (department_id);
+CREATE INDEX IF NOT EXISTS idx_person_tenant_id ON person (_tenant_id, id);
@@ -5,9 +5,18 @@ CREATE TABLE IF NOT EXISTS person (
     email VARCHAR(255),
     age INTEGER,
     department_id VARCHAR(255),
+    _tenant_id VARCHAR(255),
+    version BIGINT DEFAULT 0,
     PRIMARY KEY (id)
 );
 
+-- Indexes for the finder and foreign key columns, matching the @Index definitions of Person
+CREATE INDEX IF NOT EXISTS idx_person_name ON person (name);
+CREATE INDEX IF NOT EXISTS idx_person_email ON person (email);
+CREATE INDEX IF NOT EXISTS idx_person_age ON person (age);
+CREATE INDEX IF NOT EXISTS idx_person_department ON person (department_id);
+CREATE INDEX IF NOT EXISTS idx_person_tenant_id ON person (_tenant_id, id);
+
 -- Create department table
 CREATE TABLE IF NOT EXISTS department (
     id VARCHAR(255) NOT NULL,
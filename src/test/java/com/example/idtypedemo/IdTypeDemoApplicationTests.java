@@ -0,0 +1,44 @@
+package com.example.idtypedemo;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.env.PropertiesPropertySourceLoader;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts the application with the shipped configuration only: no test configuration, profile or properties.
+ */
+@SpringBootTest
+class IdTypeDemoApplicationTests {
+
+    @Autowired
+    private Environment environment;
+
+    @Test
+    void contextLoadsWithShippedConfiguration() {
+        assertArrayEquals(new String[] {"h2"}, environment.getActiveProfiles());
+        // The profile-specific documents of application.properties stay inactive
+        assertNull(environment.getProperty("spring.datasource.hikari.data-source-properties.cachePrepStmts"));
+        assertNull(environment.getProperty("spring.datasource.hikari.data-source-properties.prepareThreshold"));
+    }
+
+    @Test
+    void applicationPropertiesShouldBeSplitIntoProfileDocuments() throws IOException {
+        List<PropertySource<?>> documents = new PropertiesPropertySourceLoader()
+                .load("application.properties", new ClassPathResource("application.properties"));
+
+        assertEquals(3, documents.size());
+        assertNull(documents.get(0).getProperty("spring.config.activate.on-profile"));
+        assertEquals("h2", documents.get(0).getProperty("spring.profiles.active").toString());
+        assertEquals("statement-cache & mysql", documents.get(1).getProperty("spring.config.activate.on-profile").toString());
+        assertEquals("statement-cache & postgresql", documents.get(2).getProperty("spring.config.activate.on-profile").toString());
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.idtypedemo.batch;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchLoaderTest {
+
+    private final List<Set<Integer>> batches = new CopyOnWriteArrayList<>();
+
+    private Function<Set<Integer>, Map<Integer, String>> recordingFunction() {
+        return keys -> {
+            batches.add(Set.copyOf(keys));
+            Map<Integer, String> values = new HashMap<>();
+            for (Integer key : keys) {
+                if (key >= 0) {
+                    values.put(key, "v" + key);
+                }
+            }
+            return values;
+        };
+    }
+
+    @Test
+    void shouldCoalesceConcurrentLookupsIntoFewBatches() throws Exception {
+        BatchLoader<Integer, String> loader = new BatchLoader<>(recordingFunction(), 1_000, Duration.ofMillis(200));
+
+        List<String> results = loadConcurrently(loader, 100, i -> i % 50);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals("v" + (i % 50), results.get(i));
+        }
+        assertTrue(batches.size() < 100, "lookups should be coalesced, got " + batches.size() + " batches");
+        // Overlapping keys share one entry within a batch
+        assertEquals(50, batches.stream().flatMap(Set::stream).distinct().count());
+    }
+
+    @Test
+    void shouldDispatchFullBatchWithoutWaitingForWindow() throws Exception {
+        BatchLoader<Integer, String> loader = new BatchLoader<>(recordingFunction(), 10, Duration.ofSeconds(30));
+
+        long start = System.nanoTime();
+        List<String> results = loadConcurrently(loader, 100, i -> i);
+
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(20), "full batches should not wait");
+        assertEquals(100, results.size());
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= 10));
+    }
+
+    @Test
+    void shouldReturnNullForMissingKeys() {
+        BatchLoader<Integer, String> loader = new BatchLoader<>(recordingFunction(), 10, Duration.ofMillis(1));
+
+        assertNull(loader.load(-1));
+        assertEquals("v1", loader.load(1));
+    }
+
+    @Test
+    void shouldPropagateBatchFailureToAllCallers() throws Exception {
+        BatchLoader<Integer, String> loader = new BatchLoader<>(keys -> {
+            throw new IllegalStateException("database down");
+        }, 1_000, Duration.ofMillis(100));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                int key = i;
+                futures.add(executor.submit(() -> loader.load(key)));
+            }
+            for (Future<String> future : futures) {
+                Exception e = assertThrows(Exception.class, () -> future.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(IllegalStateException.class, e.getCause());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldLoadDirectlyWhenBatchingDisabled() {
+        BatchLoader<Integer, String> loader = new BatchLoader<>(recordingFunction(), 1, Duration.ofSeconds(30));
+
+        assertFalse(loader.isBatching());
+        assertEquals("v7", loader.load(7));
+        assertEquals(List.of(Set.of(7)), batches);
+    }
+
+    private static List<String> loadConcurrently(BatchLoader<Integer, String> loader, int callers,
+                                                 Function<Integer, Integer> keyForCaller) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                int key = keyForCaller.apply(i);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return loader.load(key);
+                }));
+            }
+            start.countDown();
+            List<String> results = new ArrayList<>();
+            for (Future<String> future : futures) {
+                results.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.idtypedemo.benchmark;
+
+import com.example.idtypedemo.IdTypeDemoApplication;
+import com.example.idtypedemo.bulk.BulkItemResult;
+import com.example.idtypedemo.entity.Person;
+import com.example.idtypedemo.service.PersonBulkService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures the insert throughput of the bulk import against H2, with 100k persons streamed
+ * through {@link PersonBulkService} as the controller does with a request body.
+ * Run with {@code mvn -Pbenchmark test -Dtest=BulkImportBenchmark}.
+ */
+@Tag("benchmark")
+class BulkImportBenchmark {
+
+    private static final int PERSONS = 100_000;
+
+    @Test
+    void measureRowsPerSecond() {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(IdTypeDemoApplication.class)
+                .properties(
+                        "spring.main.web-application-type=none",
+                        "spring.datasource.url=jdbc:h2:mem:bulk",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "logging.level.com.example.idtypedemo=WARN")
+                .run()) {
+            PersonBulkService bulkService = context.getBean(PersonBulkService.class);
+
+            long start = System.nanoTime();
+            List<BulkItemResult> results = bulkService.importAll(persons());
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            assertEquals(PERSONS, results.size());
+            assertTrue(results.stream().allMatch(result -> result.status() == BulkItemResult.Status.CREATED));
+            System.out.printf("bulk import: %d rows in %.2fs, %.0f rows/s%n", PERSONS, seconds, PERSONS / seconds);
+        }
+    }
+
+    private static Iterator<Person> persons() {
+        return IntStream.range(0, PERSONS)
+                .mapToObj(i -> Person.builder().name("Bulk " + i).email("bulk" + i + "@example.com").age(20 + i % 50).build())
+                .iterator();
+    }
+}
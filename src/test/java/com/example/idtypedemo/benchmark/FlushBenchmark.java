@@ -0,0 +1,165 @@
+package com.example.idtypedemo.benchmark;
+
+import com.example.idtypedemo.config.TestConfig;
+import com.example.idtypedemo.domain.Identifier;
+import com.example.idtypedemo.entity.Department;
+import com.example.idtypedemo.entity.Person;
+import com.example.idtypedemo.entity.Tenant;
+import com.example.idtypedemo.repository.DepartmentRepository;
+import com.example.idtypedemo.service.PersonBulkService;
+import com.example.idtypedemo.type.IdentifierType;
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.ManagedEntity;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Time and allocations of flushing 100k managed {@link Person} entities, unchanged and with 1% of
+ * them changed. Without bytecode enhancement, dirty checking compares every attribute of every
+ * entity with its loaded snapshot, the department foreign key and tenant ID through
+ * {@link IdentifierType#equals}, which is also compared on its own against {@link Identifier#equals}
+ * for the same identifiers. Enhanced entities record their changes, so only those are checked.
+ * Run with {@code mvn -Pbenchmark test -Dtest=FlushBenchmark}, and with {@code -Pbenchmark,enhance}
+ * for the enhanced entities.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:flush",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.com.example.idtypedemo=WARN"
+})
+@Import(TestConfig.class)
+class FlushBenchmark {
+
+    private static final int PERSONS = 100_000;
+    private static final int DEPARTMENTS = 100;
+    private static final int ROUNDS = 10;
+    private static final int CHANGED = PERSONS / 100;
+
+    @Autowired
+    private PersonBulkService personBulkService;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private IdentifierType identifierType;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void flushHundredThousandManagedPersons() {
+        List<Department> departments = new ArrayList<>();
+        for (int i = 0; i < DEPARTMENTS; i++) {
+            departments.add(Department.builder().name("Flush " + i).build());
+        }
+        departmentRepository.saveAll(departments);
+        // Half long and half string identifiers, the long ones being the ones formatted by Identifier.equals
+        personBulkService.importAll(IntStream.range(0, PERSONS)
+                .mapToObj(i -> Person.builder()
+                        .id(i % 2 == 0 ? Identifier.of((long) i) : Identifier.of("flush-" + i))
+                        .name("Flush " + i)
+                        .department(departments.get(i % DEPARTMENTS))
+                        .tenant(tenant(7L))
+                        .build())
+                .iterator());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            List<Person> persons = entityManager
+                    .createQuery("SELECT p FROM Person p JOIN FETCH p.department", Person.class)
+                    .getResultList();
+            assertEquals(PERSONS, persons.size());
+
+            String mode = persons.get(0) instanceof ManagedEntity ? "enhanced" : "not enhanced";
+            flush(mode + ", unchanged", persons, round -> { });
+            flush(mode + ", " + CHANGED + " changed", persons, round -> {
+                for (int i = 0; i < CHANGED; i++) {
+                    persons.get(i * (PERSONS / CHANGED)).setAge(round);
+                }
+            });
+
+            // Copies compare equal without being the same instances, like the IDs of a loaded snapshot
+            List<Identifier> ids = new ArrayList<>(persons.size());
+            List<Identifier> copies = new ArrayList<>(persons.size());
+            for (Person person : persons) {
+                Identifier id = person.getId();
+                ids.add(id);
+                copies.add(id.isLong() ? Identifier.of(id.asLong()) : Identifier.of(id.asString()));
+            }
+            compare("Identifier.equals/hashCode", ids, copies, (x, y) -> x.equals(y) && x.hashCode() == y.hashCode());
+            compare("IdentifierType.equals/hashCode", ids, copies,
+                    (x, y) -> identifierType.equals(x, y) && identifierType.hashCode(x) == identifierType.hashCode(y));
+            status.setRollbackOnly();
+        });
+    }
+
+    private void flush(String label, List<Person> persons, IntConsumer change) {
+        long allocated = 0;
+        long elapsed = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            change.accept(round);
+            allocated = allocatedBytes();
+            long start = System.nanoTime();
+            entityManager.flush();
+            elapsed = System.nanoTime() - start;
+            allocated = allocatedBytes() - allocated;
+        }
+        System.out.printf("flush of %d managed persons (%s): %.1fms, %.1fMB allocated%n",
+                persons.size(), label, elapsed / 1e6, allocated / 1e6);
+    }
+
+    private static void compare(String label, List<Identifier> ids, List<Identifier> copies,
+                                IdentifierComparison comparison) {
+        int matches = 0;
+        long allocated = 0;
+        long elapsed = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            matches = 0;
+            allocated = allocatedBytes();
+            long start = System.nanoTime();
+            for (int i = 0; i < ids.size(); i++) {
+                if (comparison.equal(ids.get(i), copies.get(i))) {
+                    matches++;
+                }
+            }
+            elapsed = System.nanoTime() - start;
+            allocated = allocatedBytes() - allocated;
+        }
+        assertEquals(ids.size(), matches);
+        System.out.printf("%-30s %d comparisons: %.2fms, %.1fMB allocated%n",
+                label, ids.size(), elapsed / 1e6, allocated / 1e6);
+    }
+
+    private static Tenant tenant(long id) {
+        Tenant tenant = new Tenant();
+        tenant.setId(Identifier.of(id));
+        return tenant;
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+
+    @FunctionalInterface
+    private interface IdentifierComparison {
+        boolean equal(Identifier x, Identifier y);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.idtypedemo.benchmark;
+
+import com.example.idtypedemo.IdTypeDemoApplication;
+import com.example.idtypedemo.domain.Identifier;
+import com.example.idtypedemo.entity.Person;
+import com.example.idtypedemo.repository.PersonRepository;
+import com.example.idtypedemo.service.PersonBulkService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Compares the per-query overhead of {@link Identifier}-parameterized queries with the query plan
+ * cache and IN-list padding off ("before") and on ("after", the application defaults): time per
+ * call, Hibernate plan cache hits and misses, and the number of distinct SQL strings, each of
+ * which costs a parse on H2 and a cache slot in JDBC statement caches.
+ * Run with {@code mvn -Pbenchmark test -Dtest=QueryPlanCacheBenchmark}.
+ */
+@Tag("benchmark")
+class QueryPlanCacheBenchmark {
+
+    private static final int PERSONS = 1_000;
+    private static final int CALLS = 20_000;
+    private static final int ROUNDS = 3;
+
+    @Test
+    void comparePlanCacheOffAndOn() {
+        run("before", "spring.jpa.properties.hibernate.query.plan_cache_enabled=false",
+                "spring.jpa.properties.hibernate.query.in_clause_parameter_padding=false");
+        run("after", "spring.jpa.properties.hibernate.query.plan_cache_enabled=true",
+                "spring.jpa.properties.hibernate.query.in_clause_parameter_padding=true");
+    }
+
+    private static void run(String label, String planCache, String padding) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(IdTypeDemoApplication.class)
+                .properties(
+                        "spring.main.web-application-type=none",
+                        "spring.datasource.url=jdbc:h2:mem:plan-" + label,
+                        "spring.jpa.properties.hibernate.generate_statistics=true",
+                        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                                + SqlCounter.class.getName(),
+                        planCache,
+                        padding,
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+                        "logging.level.com.example.idtypedemo=WARN")
+                .run()) {
+            context.getBean(PersonBulkService.class).importAll(IntStream.range(0, PERSONS)
+                    .mapToObj(i -> Person.builder().id(Identifier.of("plan-" + i)).name("Plan " + i).build())
+                    .iterator());
+
+            PersonRepository personRepository = context.getBean(PersonRepository.class);
+            Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+            Random random = new Random(42);
+
+            for (int round = 0; round < ROUNDS; round++) {
+                boolean report = round == ROUNDS - 1;
+                measure(report, label, "findByIdentifier", statistics,
+                        i -> personRepository.findByIdentifier(Identifier.of("plan-" + random.nextInt(PERSONS))));
+                measure(report, label, "findExistingIds", statistics,
+                        i -> personRepository.findExistingIds(randomIds(random, 1 + random.nextInt(100))));
+            }
+        }
+    }
+
+    private static void measure(boolean report, String label, String query, Statistics statistics, IntConsumer call) {
+        statistics.clear();
+        SqlCounter.DISTINCT.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            call.accept(i);
+        }
+        long elapsed = System.nanoTime() - start;
+        if (report) {
+            System.out.printf("%-6s %-16s %d calls: %.1fus/call, plan cache hits=%d misses=%d, distinct SQL=%d%n",
+                    label, query, CALLS, elapsed / 1e3 / CALLS,
+                    statistics.getQueryPlanCacheHitCount(), statistics.getQueryPlanCacheMissCount(),
+                    SqlCounter.DISTINCT.size());
+        }
+    }
+
+    private static List<Identifier> randomIds(Random random, int count) {
+        List<Identifier> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(Identifier.of("plan-" + random.nextInt(PERSONS)));
+        }
+        return ids;
+    }
+
+    /**
+     * Collects the distinct SQL strings Hibernate prepares.
+     */
+    public static class SqlCounter implements StatementInspector {
+
+        private static final long serialVersionUID = 1L;
+
+        static final Set<String> DISTINCT = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public String inspect(String sql) {
+            DISTINCT.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.idtypedemo.benchmark;
+
+import com.example.idtypedemo.IdTypeDemoApplication;
+import com.example.idtypedemo.domain.view.PersonContact;
+import com.example.idtypedemo.entity.Person;
+import com.example.idtypedemo.repository.PersonRepository;
+import com.example.idtypedemo.service.PersonBulkService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares heap allocation, retained heap and CPU time of reading 100k persons as managed entities,
+ * as read-only entities, as a {@link PersonContact} projection and through a stateless session.
+ * Every variant runs inside a read-write transaction, as a read-only call nested in a write would.
+ * Run with {@code mvn -Pbenchmark test -Dtest=ReadProjectionBenchmark}.
+ */
+@Tag("benchmark")
+class ReadProjectionBenchmark {
+
+    private static final int PERSONS = 100_000;
+    private static final int ROUNDS = 5;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void compareEntitiesAndProjections() {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(IdTypeDemoApplication.class)
+                .properties(
+                        "spring.main.web-application-type=none",
+                        "spring.datasource.url=jdbc:h2:mem:projection",
+                        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "logging.level.com.example.idtypedemo=WARN")
+                .run()) {
+            context.getBean(PersonBulkService.class).importAll(IntStream.range(0, PERSONS)
+                    .mapToObj(i -> Person.builder().name("Projection " + i).email("p" + i + "@example.com").age(i % 90).build())
+                    .iterator());
+
+            PersonRepository personRepository = context.getBean(PersonRepository.class);
+            EntityManager entityManager = context.getBean(EntityManager.class);
+            SessionFactory sessionFactory = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class);
+            TransactionTemplate transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+            for (int round = 0; round < ROUNDS; round++) {
+                boolean report = round == ROUNDS - 1;
+                measure(report, "managed entities", transaction, () -> entityManager
+                        .createQuery("SELECT p FROM Person p WHERE p.age > :age", Person.class)
+                        .setParameter("age", -1)
+                        .getResultList());
+                measure(report, "read-only entities", transaction, () -> personRepository.findByAgeGreaterThan(-1));
+                measure(report, "interface projection", transaction,
+                        () -> personRepository.findByAgeGreaterThan(-1, PersonContact.class));
+                measure(report, "stateless session", transaction, () -> readStateless(sessionFactory));
+            }
+        }
+    }
+
+    private static List<?> readStateless(SessionFactory sessionFactory) {
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            return session.createSelectionQuery("SELECT p FROM Person p WHERE p.age > :age", Person.class)
+                    .setParameter("age", -1)
+                    .getResultList();
+        }
+    }
+
+    /**
+     * Runs the read and a flush in one transaction, the flush being where managed entities pay
+     * for dirty checking. Retained heap is sampled before the transaction ends, while the
+     * persistence context still holds the entities and their snapshots.
+     */
+    private static void measure(boolean report, String variant, TransactionTemplate transaction, Supplier<List<?>> read) {
+        System.gc();
+        long usedBefore = usedHeap();
+        long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+        long cpuBefore = THREADS.getCurrentThreadCpuTime();
+        long[] retained = new long[1];
+        int rows = transaction.execute(status -> {
+            List<?> result = read.get();
+            status.flush();
+            System.gc();
+            retained[0] = usedHeap() - usedBefore;
+            return result.size();
+        });
+        long cpu = THREADS.getCurrentThreadCpuTime() - cpuBefore;
+        long allocated = THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        assertEquals(PERSONS, rows);
+        if (report) {
+            System.out.printf("%-21s %d rows: cpu=%dms allocated=%dMB retained=%dMB%n",
+                    variant, rows, cpu / 1_000_000, allocated >> 20, Math.max(0, retained[0]) >> 20);
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.idtypedemo.benchmark;
+
+import com.example.idtypedemo.config.TestConfig;
+import com.example.idtypedemo.domain.Identifier;
+import com.example.idtypedemo.entity.Person;
+import com.example.idtypedemo.repository.PersonRepository;
+import com.example.idtypedemo.service.PersonService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Read-through latency of {@link PersonService#findById} with the second-level cache at a 90% hit rate.
+ * Run with {@code mvn -Pbenchmark test -Dtest=SecondLevelCacheBenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(TestConfig.class)
+class SecondLevelCacheBenchmark {
+
+    private static final int PERSONS = 1_000;
+    private static final int HOT_PERSONS = 900;
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+
+    @Autowired
+    private PersonService personService;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void findByIdAtNinetyPercentHitRate() {
+        List<Identifier> ids = new ArrayList<>();
+        for (int i = 0; i < PERSONS; i++) {
+            Person person = personRepository.save(Person.builder()
+                    .id(Identifier.of("bench-" + i))
+                    .name("Benchmark " + i)
+                    .age(i % 100)
+                    .build());
+            ids.add(person.getId());
+        }
+
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evict(Person.class);
+        for (int i = 0; i < HOT_PERSONS; i++) {
+            personService.findById(ids.get(i));
+        }
+
+        SplittableRandom random = new SplittableRandom(42);
+        run(ids, sessionFactory, random, WARMUP);
+
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+        long[] latencies = run(ids, sessionFactory, random, ITERATIONS);
+
+        CacheRegionStatistics region = statistics.getDomainDataRegionStatistics("person");
+        double hitRatio = (double) region.getHitCount() / (region.getHitCount() + region.getMissCount());
+        Arrays.sort(latencies);
+        System.out.printf("findById L2 hit ratio %.3f: p50=%dns p90=%dns p99=%dns max=%dns%n",
+                hitRatio,
+                latencies[latencies.length / 2],
+                latencies[latencies.length * 90 / 100],
+                latencies[latencies.length * 99 / 100],
+                latencies[latencies.length - 1]);
+
+        assertEquals(0.9, hitRatio, 0.02);
+    }
+
+    /**
+     * Looks up a hot person 90% of the time and a cold one otherwise.
+     * Cold persons are evicted after each lookup so that they keep missing.
+     */
+    private long[] run(List<Identifier> ids, SessionFactory sessionFactory, SplittableRandom random, int iterations) {
+        long[] latencies = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            boolean hit = random.nextInt(10) != 0;
+            Identifier id = hit
+                    ? ids.get(random.nextInt(HOT_PERSONS))
+                    : ids.get(HOT_PERSONS + random.nextInt(PERSONS - HOT_PERSONS));
+
+            long start = System.nanoTime();
+            assertTrue(personService.findById(id).isPresent());
+            latencies[i] = System.nanoTime() - start;
+
+            if (!hit) {
+                sessionFactory.getCache().evictEntityData(Person.class, id);
+            }
+        }
+        return latencies;
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.idtypedemo.benchmark;
+
+import com.example.idtypedemo.IdTypeDemoApplication;
+import com.example.idtypedemo.domain.Identifier;
+import com.example.idtypedemo.entity.Person;
+import com.example.idtypedemo.service.PersonService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Load test comparing the p99 latency of {@code GET /api/persons/{id}} served by platform threads
+ * and by virtual threads ({@code virtual} profile), with 10k concurrent clients against H2.
+ * The near-cache and batch loader are disabled so every request reaches the database.
+ * Run with {@code mvn -Pbenchmark test -Dtest=VirtualThreadLoadBenchmark} on a Java 21+ runtime.
+ */
+@Tag("benchmark")
+class VirtualThreadLoadBenchmark {
+
+    private static final int CLIENTS = 10_000;
+    private static final int REQUESTS_PER_CLIENT = 5;
+    private static final int PERSONS = 1_000;
+
+    @Test
+    void compareP99LatencyOfPlatformAndVirtualThreads() throws Exception {
+        long[] platform = run(false);
+        report("platform", platform);
+
+        assumeTrue(Runtime.version().feature() >= 21, "virtual threads require Java 21");
+        long[] virtual = run(true);
+        report("virtual", virtual);
+    }
+
+    private long[] run(boolean virtualThreads) throws Exception {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(IdTypeDemoApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:load-" + (virtualThreads ? "virtual" : "platform"),
+                        "spring.datasource.hikari.maximum-pool-size=50",
+                        "server.tomcat.max-connections=20000",
+                        "server.tomcat.accept-count=1000",
+                        "person.near-cache.enabled=false",
+                        "person.batch-loader.enabled=false",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "logging.level.com.example.idtypedemo=WARN");
+        if (virtualThreads) {
+            builder.profiles("virtual");
+        }
+
+        try (ConfigurableApplicationContext context = builder.run()) {
+            PersonService personService = context.getBean(PersonService.class);
+            List<Identifier> ids = new ArrayList<>();
+            for (int i = 0; i < PERSONS; i++) {
+                ids.add(personService.save(Person.builder()
+                        .id(Identifier.of("load-" + i))
+                        .name("Load " + i)
+                        .build()).getId());
+            }
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            return fire(port, ids);
+        }
+    }
+
+    /**
+     * Starts all clients at once; each client sends its requests one after another.
+     */
+    private long[] fire(int port, List<Identifier> ids) {
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        HttpClient client = HttpClient.newBuilder()
+                .executor(clientExecutor)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        long[] latencies = new long[CLIENTS * REQUESTS_PER_CLIENT];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        try {
+            List<CompletableFuture<Void>> clients = new ArrayList<>(CLIENTS);
+            for (int c = 0; c < CLIENTS; c++) {
+                CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+                for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                    chain = chain.thenCompose(ignored -> {
+                        Identifier id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+                        HttpRequest request = HttpRequest.newBuilder(
+                                        URI.create("http://localhost:" + port + "/api/persons/" + id.asString()))
+                                .timeout(Duration.ofSeconds(60))
+                                .build();
+                        long start = System.nanoTime();
+                        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                                .handle((response, error) -> {
+                                    latencies[next.getAndIncrement()] = System.nanoTime() - start;
+                                    if (error != null || response.statusCode() != 200) {
+                                        failures.incrementAndGet();
+                                    }
+                                    return null;
+                                });
+                    });
+                }
+                clients.add(chain);
+            }
+            CompletableFuture.allOf(clients.toArray(CompletableFuture[]::new)).join();
+        } finally {
+            clientExecutor.shutdownNow();
+        }
+        assertEquals(0, failures.get(), "failed requests");
+        return Arrays.copyOf(latencies, next.get());
+    }
+
+    private static void report(String mode, long[] latencies) {
+        Arrays.sort(latencies);
+        System.out.printf("%s threads, %d clients, %d requests: p50=%.2fms p99=%.2fms max=%.2fms%n",
+                mode, CLIENTS, latencies.length,
+                latencies[latencies.length / 2] / 1e6,
+                latencies[latencies.length * 99 / 100] / 1e6,
+                latencies[latencies.length - 1] / 1e6);
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.idtypedemo.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NearCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final NearCache<String, String> cache = new NearCache<>("test", 100, Duration.ofMinutes(1), registry);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldLoadOnceAndServeHitsFromCache() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(Optional.of("v1"), cache.get("k", k -> Optional.of("v" + loads.incrementAndGet())));
+        assertEquals(Optional.of("v1"), cache.get("k", k -> Optional.of("v" + loads.incrementAndGet())));
+
+        assertEquals(1, loads.get());
+        assertEquals(0.5, registry.get(NearCache.HIT_RATIO).tag("cache", "test").gauge().value(), 0.001);
+        assertEquals(1, registry.get(NearCache.LOAD_DURATION).tag("cache", "test").timer().count());
+    }
+
+    @Test
+    void shouldNotCacheAbsentValues() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(Optional.empty(), cache.get("missing", k -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        }));
+        assertEquals(Optional.of("late"), cache.get("missing", k -> {
+            loads.incrementAndGet();
+            return Optional.of("late");
+        }));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldShareOneLoadBetweenConcurrentMisses() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Optional<String>>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> cache.get("k", k -> {
+                    loads.incrementAndGet();
+                    loading.countDown();
+                    await(release);
+                    return Optional.of("v");
+                })));
+            }
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            release.countDown();
+
+            for (Future<Optional<String>> result : results) {
+                assertEquals(Optional.of("v"), result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldInvalidateOnlyAfterCommit() {
+        cache.get("k", k -> Optional.of("old"));
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.invalidateAfterCommit("k");
+        assertEquals(Optional.of("old"), cache.get("k", k -> Optional.of("new")));
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        assertEquals(Optional.of("new"), cache.get("k", k -> Optional.of("new")));
+    }
+
+    @Test
+    void shouldInvalidateImmediatelyWithoutTransaction() {
+        cache.get("k", k -> Optional.of("old"));
+
+        cache.invalidateAfterCommit("k");
+
+        assertEquals(Optional.of("new"), cache.get("k", k -> Optional.of("new")));
+    }
+
+    @Test
+    void shouldReturnACopyToEveryCaller() {
+        NearCache<String, StringBuilder> copying = new NearCache<>("copying", 100, Duration.ofMinutes(1), registry,
+                StringBuilder::new);
+
+        StringBuilder first = copying.get("k", k -> Optional.of(new StringBuilder("v"))).orElseThrow();
+        first.append("-changed");
+        StringBuilder second = copying.get("k", k -> Optional.of(new StringBuilder("reloaded"))).orElseThrow();
+
+        assertNotSame(first, second);
+        assertEquals("v", second.toString());
+    }
+
+    @Test
+    void disabledCacheShouldAlwaysCallLoader() {
+        NearCache<String, String> disabled = NearCache.disabled();
+        AtomicInteger loads = new AtomicInteger();
+
+        disabled.get("k", k -> Optional.of("v" + loads.incrementAndGet()));
+        disabled.get("k", k -> Optional.of("v" + loads.incrementAndGet()));
+        disabled.invalidateAfterCommit("k");
+
+        assertFalse(disabled.isEnabled());
+        assertEquals(2, loads.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
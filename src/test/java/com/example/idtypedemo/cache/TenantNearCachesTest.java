@@ -0,0 +1,57 @@
+package com.example.idtypedemo.cache;
+
+import com.example.idtypedemo.domain.Identifier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TenantNearCachesTest {
+
+    private static final Identifier ACME = Identifier.of("acme");
+    private static final Identifier GLOBEX = Identifier.of("globex");
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final TenantNearCaches<String, String> caches =
+            new TenantNearCaches<>("test", 100, Duration.ofMinutes(1), 10, registry);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldKeepTenantsApart() {
+        caches.forTenant(ACME).get("k", k -> Optional.of("acme"));
+
+        assertEquals(Optional.of("globex"), caches.forTenant(GLOBEX).get("k", k -> Optional.of("globex")));
+        assertEquals(Optional.of("acme"), caches.forTenant(ACME).get("k", k -> Optional.of("other")));
+        assertEquals(2, caches.size());
+        assertEquals(2, registry.get(TenantNearCaches.TENANTS).tag("cache", "test").gauge().value(), 0.001);
+        assertEquals(2, registry.get(TenantNearCaches.SIZE).tag("cache", "test").gauge().value(), 0.001);
+    }
+
+    @Test
+    void shouldInvalidateKeyOfAllTenantsAfterCommit() {
+        caches.forTenant(ACME).get("k", k -> Optional.of("old"));
+        caches.forTenant(GLOBEX).get("k", k -> Optional.of("old"));
+        TransactionSynchronizationManager.initSynchronization();
+
+        caches.invalidateAfterCommit("k");
+        assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+        assertEquals(2, caches.size());
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        assertEquals(0, caches.size());
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.idtypedemo.config;
+
+import com.example.idtypedemo.domain.Identifier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.PropertyResolver;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConfigurationLoaderTest {
+
+    private PropertyResolver previousResolver;
+
+    @BeforeEach
+    void setUp() {
+        previousResolver = ConfigurationLoader.boundResolver();
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Restores the binding of an application context started earlier in the same JVM
+        if (previousResolver != null) {
+            ConfigurationLoader.bind(previousResolver);
+        } else {
+            ConfigurationLoader.unbind();
+        }
+    }
+
+    @Test
+    void shouldLoadPropertiesFromClasspath() {
+        assertEquals("id-type-demo", ConfigurationLoader.getProperty("spring.application.name", null));
+        assertEquals("fallback", ConfigurationLoader.getProperty("no.such.key", "fallback"));
+    }
+
+    @Test
+    void shouldResolveSettingsFromBoundEnvironment() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty(IdentifierSettings.TYPE_KEY, "STRING")
+                .withProperty(IdentifierSettings.USE_NATIVE_TYPES_KEY, "false")
+                .withProperty(IdentifierSettings.STRING_LENGTH_KEY, "36")
+                .withProperty("custom.key", "custom");
+
+        ConfigurationLoader.bind(environment);
+
+        IdentifierSettings settings = ConfigurationLoader.getIdentifierSettings();
+        assertEquals(Identifier.Type.STRING, settings.type());
+        assertFalse(settings.useNativeTypes());
+        assertEquals(36, settings.stringLength());
+        assertEquals("custom", ConfigurationLoader.getProperty("custom.key", null));
+        assertFalse(ConfigurationLoader.getBooleanProperty(IdentifierSettings.USE_NATIVE_TYPES_KEY, true));
+    }
+
+    @Test
+    void shouldReresolveFromBoundEnvironmentOnReload() {
+        MockEnvironment environment = new MockEnvironment().withProperty(IdentifierSettings.TYPE_KEY, "LONG");
+        ConfigurationLoader.bind(environment);
+        environment.setProperty(IdentifierSettings.TYPE_KEY, "STRING");
+
+        ConfigurationLoader.reload();
+
+        assertSame(environment, ConfigurationLoader.boundResolver());
+        assertEquals(Identifier.Type.STRING, ConfigurationLoader.getIdentifierSettings().type());
+    }
+
+    @Test
+    void shouldReturnToFileConfigurationWhenUnbound() {
+        ConfigurationLoader.bind(new MockEnvironment().withProperty(IdentifierSettings.TYPE_KEY, "LONG"));
+
+        ConfigurationLoader.unbind();
+
+        // application.properties sets identifier.default-type=STRING and identifier.auto-convert-string-to-long=false
+        IdentifierSettings settings = ConfigurationLoader.getIdentifierSettings();
+        assertNull(ConfigurationLoader.boundResolver());
+        assertEquals(Identifier.Type.STRING, settings.type());
+        assertFalse(settings.autoConvertStringToLong());
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.idtypedemo.config;
+
+import com.example.idtypedemo.domain.Identifier;
+import com.example.idtypedemo.entity.Person;
+import com.example.idtypedemo.fastjson.IdentifierFastjsonSerializer;
+import com.example.idtypedemo.jackson.IdentifierJsonDeserializer;
+import com.example.idtypedemo.type.CustomIdentifierGenerator;
+import com.example.idtypedemo.type.IdentifierType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdentifierRuntimeHintsTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new IdentifierRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void shouldRegisterHibernateInstantiatedTypes() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(IdentifierType.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(CustomIdentifierGenerator.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+    }
+
+    @Test
+    void shouldRegisterCodecs() throws NoSuchMethodException {
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(Identifier.class.getMethod("fromString", String.class)).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(IdentifierJsonDeserializer.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(IdentifierFastjsonSerializer.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+    }
+
+    @Test
+    void shouldRegisterEntityFieldsForVersionTracking() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Person.class)
+                .withMemberCategory(MemberCategory.DECLARED_FIELDS).test(hints));
+    }
+
+    @Test
+    void shouldRegisterGeneratedSettingsAndPropertyFiles() {
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of(ConfigurationLoader.GENERATED_SETTINGS_CLASS))
+                .withMemberCategory(MemberCategory.DECLARED_FIELDS).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("application.properties").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("application-h2.properties").test(hints));
+    }
+}
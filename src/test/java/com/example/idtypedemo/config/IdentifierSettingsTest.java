@@ -0,0 +1,61 @@
+package com.example.idtypedemo.config;
+
+import com.example.idtypedemo.domain.Identifier;
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdentifierSettingsTest {
+
+    @Test
+    void shouldUseDefaultsForMissingKeys() {
+        assertEquals(IdentifierSettings.DEFAULTS, IdentifierSettings.from(new Properties()));
+    }
+
+    @Test
+    void shouldParseAllKeys() {
+        Properties properties = new Properties();
+        properties.setProperty(IdentifierSettings.TYPE_KEY, "string");
+        properties.setProperty(IdentifierSettings.USE_NATIVE_TYPES_KEY, "false");
+        properties.setProperty(IdentifierSettings.STRING_EQUALITY_CHECK_KEY, "false");
+        properties.setProperty(IdentifierSettings.AUTO_CONVERT_KEY, "false");
+        properties.setProperty(IdentifierSettings.STRING_LENGTH_KEY, " 64 ");
+
+        IdentifierSettings settings = IdentifierSettings.from(properties);
+
+        assertEquals(new IdentifierSettings(Identifier.Type.STRING, false, false, false, 64), settings);
+        assertTrue(settings.isStringType());
+        assertFalse(settings.isLongType());
+    }
+
+    @Test
+    void shouldResolveFromIdentifierProperties() {
+        IdentifierProperties properties = new IdentifierProperties();
+        properties.setDefaultType("long");
+        properties.setStringEqualityCheck(false);
+
+        IdentifierSettings settings = IdentifierSettings.from(properties, true, 100);
+
+        assertEquals(new IdentifierSettings(Identifier.Type.LONG, true, false, true, 100), settings);
+    }
+
+    @Test
+    void shouldRejectUnsupportedType() {
+        Properties properties = new Properties();
+        properties.setProperty(IdentifierSettings.TYPE_KEY, "UUID");
+
+        assertThrows(IllegalArgumentException.class, () -> IdentifierSettings.from(properties));
+    }
+
+    @Test
+    void shouldPublishSettingsFromConfigurationLoader() {
+        IdentifierSettings before = ConfigurationLoader.getIdentifierSettings();
+        assertSame(before, ConfigurationLoader.getIdentifierSettings());
+
+        ConfigurationLoader.reload();
+
+        assertEquals(before, ConfigurationLoader.getIdentifierSettings());
+    }
+}
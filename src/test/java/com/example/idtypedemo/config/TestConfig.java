@@ -6,10 +6,13 @@ import com.example.idtypedemo.type.IdentifierType;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Primary;
 import org.springframework.core.env.Environment;
 
+// JPA slices do not scan HibernateConfig, which registers the IdentifierType below with Hibernate
 @TestConfiguration
+@Import(HibernateConfig.class)
 public class TestConfig {
     @Bean("repositoryTestIdentifierProperties")
     @Primary
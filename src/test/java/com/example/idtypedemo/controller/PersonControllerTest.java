@@ -2,9 +2,13 @@ package com.example.idtypedemo.controller;
 
 import com.example.idtypedemo.config.TestConfig;
 import com.example.idtypedemo.domain.Identifier;
+import com.example.idtypedemo.entity.Department;
 import com.example.idtypedemo.entity.Person;
+import com.example.idtypedemo.repository.DepartmentRepository;
+import com.example.idtypedemo.repository.PersonRepository;
 import com.example.idtypedemo.service.PersonService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -14,8 +18,11 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -33,6 +40,20 @@ class PersonControllerTest {
     @Autowired
     private PersonService personService;
 
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @BeforeEach
+    void deletePersonsCreatedWithSharedIds() {
+        // Creating a person with an existing ID fails, and the person and view controller tests
+        // create persons with the same IDs in the same database
+        personService.delete(Identifier.of("testId"), null);
+        personService.delete(Identifier.of(123L), null);
+    }
+
     @Test
     void shouldCreatePersonWithStringId() throws Exception {
         // Create request body
@@ -179,11 +200,34 @@ class PersonControllerTest {
         mockMvc.perform(put("/api/persons/{id}", savedPerson.getId().asString())
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(requestBody))
+                .andExpect(status().isNoContent())
+                .andExpect(header().doesNotExist("ETag"));
+
+        // Verify the stored person was updated
+        mockMvc.perform(get("/api/persons/{id}", savedPerson.getId().asString()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(savedPerson.getId().asString()))
                 .andExpect(jsonPath("$.name").value("Updated Name"))
                 .andExpect(jsonPath("$.age").value(35));
     }
+
+    @Test
+    void shouldReturnNewVersionAsETagWhenUpdatingVersionedPerson() throws Exception {
+        Person person = new Person();
+        person.setName("Versioned");
+        Person savedPerson = personService.save(person);
+        long version = savedPerson.getVersion();
+
+        mockMvc.perform(put("/api/persons/{id}", savedPerson.getId().asString())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(String.format("""
+                        {
+                            "name": "Versioned Again",
+                            "version": %d
+                        }""", version)))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("ETag", "\"" + (version + 1) + "\""));
+    }
     
     @Test
     void shouldDeletePerson() throws Exception {
@@ -201,4 +245,167 @@ class PersonControllerTest {
         mockMvc.perform(get("/api/persons/{id}", savedPerson.getId().asString()))
                 .andExpect(status().isNotFound());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void shouldReturnNotFoundWhenUpdatingMissingPerson() throws Exception {
+        mockMvc.perform(put("/api/persons/{id}", "missing-person")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {
+                            "name": "Nobody"
+                        }"""))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldReturnNotFoundWhenUpdatingWithStaleVersion() throws Exception {
+        Person person = new Person();
+        person.setName("Versioned");
+        Person savedPerson = personService.save(person);
+
+        String requestBody = String.format("""
+                {
+                    "name": "Stale Update",
+                    "version": %d
+                }""", savedPerson.getVersion() + 1);
+
+        mockMvc.perform(put("/api/persons/{id}", savedPerson.getId().asString())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/api/persons/{id}", savedPerson.getId().asString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Versioned"));
+    }
+
+    @Test
+    void shouldRejectCreatingPersonWithExistingId() throws Exception {
+        String requestBody = """
+                {"id": "create-twice", "name": "First"}""";
+        mockMvc.perform(post("/api/persons").contentType(MediaType.APPLICATION_JSON).content(requestBody))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/persons").contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"id": "create-twice", "name": "Second"}"""))
+                .andExpect(status().isConflict());
+        mockMvc.perform(get("/api/persons/{id}", "create-twice"))
+                .andExpect(jsonPath("$.name").value("First"));
+    }
+
+    @Test
+    void shouldReturnNotFoundWhenDeletingMissingPerson() throws Exception {
+        mockMvc.perform(delete("/api/persons/{id}", "missing-person"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldCreatePersonsInBulkFromJsonArray() throws Exception {
+        Person existing = new Person();
+        existing.setName("Existing");
+        existing.setId(Identifier.of("bulk-existing"));
+        personService.save(existing);
+
+        mockMvc.perform(post("/api/persons/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        [
+                            {"id": "bulk-1", "name": "Bulk One"},
+                            {"name": "Bulk Generated"},
+                            {"id": "bulk-existing", "name": "Duplicate"},
+                            {"id": "bulk-1", "name": "Repeated"},
+                            {"id": "bulk-2"}
+                        ]"""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5))
+                .andExpect(jsonPath("$[0].id").value("bulk-1"))
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[1].status").value("CREATED"))
+                .andExpect(jsonPath("$[1].id").isNotEmpty())
+                .andExpect(jsonPath("$[2].status").value("CONFLICT"))
+                .andExpect(jsonPath("$[3].status").value("CONFLICT"))
+                .andExpect(jsonPath("$[4].index").value(4))
+                .andExpect(jsonPath("$[4].status").value("INVALID"));
+
+        mockMvc.perform(get("/api/persons/{id}", "bulk-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Bulk One"));
+        mockMvc.perform(get("/api/persons/{id}", "bulk-existing"))
+                .andExpect(jsonPath("$.name").value("Existing"));
+    }
+
+    @Test
+    void shouldInsertBulkItemsWithProvidedIds() throws Exception {
+        Department department = departmentRepository.save(Department.builder().name("Bulk Department").build());
+        List<Identifier> ids = List.of(Identifier.of("bulk-id-1"), Identifier.of("bulk-id-2"), Identifier.of(424242L));
+
+        mockMvc.perform(post("/api/persons/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        [
+                            {"id": "bulk-id-1", "name": "Bulk Id One"},
+                            {"id": "bulk-id-2", "name": "Bulk Id Two", "department": {"id": "%s"}},
+                            {"id": "424242", "name": "Bulk Id Three"}
+                        ]""".formatted(department.getId().asString())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[1].status").value("CREATED"))
+                .andExpect(jsonPath("$[2].status").value("CREATED"))
+                .andExpect(jsonPath("$[2].id").value("424242"));
+
+        assertEquals(3, personRepository.findExistingIds(ids).size());
+        Person withDepartment = personService.findById(Identifier.of("bulk-id-2")).orElseThrow();
+        assertEquals("Bulk Id Two", withDepartment.getName());
+        assertEquals(department.getId(), withDepartment.getDepartment().getId());
+        assertEquals(0L, withDepartment.getVersion());
+    }
+
+    @Test
+    void shouldCreatePersonsInBulkFromNdjson() throws Exception {
+        String requestBody = """
+                {"id": "ndjson-1", "name": "Line One"}
+                {"id": "ndjson-2", "name": "Line Two", "department": {"id": "no-such-department"}}
+                {"id": "ndjson-3", "name": "Line Three"}
+                """;
+
+        mockMvc.perform(post("/api/persons/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(requestBody))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                // The unknown department fails the chunk; the other items are retried and created
+                .andExpect(jsonPath("$[1].status").value("FAILED"))
+                .andExpect(jsonPath("$[2].status").value("CREATED"));
+
+        mockMvc.perform(get("/api/persons/{id}", "ndjson-3"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/persons/{id}", "ndjson-2"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldExportPersonsAsNdjson() throws Exception {
+        Person person = new Person();
+        person.setName("Exported");
+        person.setId(Identifier.of("export-1"));
+        personService.save(person);
+
+        MvcResult result = mockMvc.perform(get("/api/persons/export"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertTrue(result.getResponse().getContentType().startsWith(MediaType.APPLICATION_NDJSON_VALUE));
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(personService.findAll().size(), lines.length);
+        Person exported = null;
+        for (String line : lines) {
+            Person candidate = objectMapper.readValue(line, Person.class);
+            if (Identifier.of("export-1").equals(candidate.getId())) {
+                exported = candidate;
+            }
+        }
+        assertNotNull(exported);
+        assertEquals("Exported", exported.getName());
+    }
+}
@@ -6,6 +6,7 @@ import com.example.idtypedemo.entity.Person;
 import com.example.idtypedemo.domain.view.PersonView;
 import com.example.idtypedemo.service.PersonService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -33,6 +34,14 @@ class PersonViewControllerTest {
     @Autowired
     private PersonService personService;
 
+    @BeforeEach
+    void deletePersonsCreatedWithSharedIds() {
+        // Creating a person with an existing ID fails, and the person and view controller tests
+        // create persons with the same IDs in the same database
+        personService.delete(Identifier.of("testId"), null);
+        personService.delete(Identifier.of(123L), null);
+    }
+
     @Test
     void shouldCreatePersonViewWithStringId() throws Exception {
         // Create request body with nested person
@@ -0,0 +1,106 @@
+package com.example.idtypedemo.controller;
+
+import com.example.idtypedemo.config.TestConfig;
+import com.example.idtypedemo.domain.Identifier;
+import com.example.idtypedemo.entity.Person;
+import com.example.idtypedemo.service.PersonService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.client.MockMvcWebTestClient;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestConfig.class)
+class ReactivePersonControllerTest {
+
+    private static final Identifier STRING_ID = Identifier.of("reactive-id");
+    private static final Identifier LONG_ID = Identifier.of(4242L);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PersonService personService;
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        webTestClient = MockMvcWebTestClient.bindTo(mockMvc).build();
+        personService.delete(STRING_ID, null);
+        personService.delete(LONG_ID, null);
+        personService.save(Person.builder().id(STRING_ID).name("Reactive String").age(21).build());
+        personService.save(Person.builder().id(LONG_ID).name("Reactive Long").age(42).build());
+    }
+
+    @Test
+    void shouldStreamAllPersonsAsNdjson() throws Exception {
+        String body = webTestClient.get().uri("/api/reactive/persons")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertNotNull(body);
+        List<Person> persons = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            if (!line.isBlank()) {
+                persons.add(objectMapper.readValue(line, Person.class));
+            }
+        }
+        Person stringPerson = persons.stream().filter(p -> STRING_ID.equals(p.getId())).findFirst().orElseThrow();
+        assertEquals("Reactive String", stringPerson.getName());
+        assertEquals(Identifier.Type.STRING, stringPerson.getId().getType());
+        Person longPerson = persons.stream().filter(p -> LONG_ID.equals(p.getId())).findFirst().orElseThrow();
+        assertEquals("Reactive Long", longPerson.getName());
+        assertEquals(Identifier.Type.LONG, longPerson.getId().getType());
+    }
+
+    @Test
+    void shouldFindPersonByStringId() {
+        webTestClient.get().uri("/api/reactive/persons/{id}", STRING_ID.asString())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(STRING_ID.asString())
+                .jsonPath("$.name").isEqualTo("Reactive String")
+                .jsonPath("$.age").isEqualTo(21);
+    }
+
+    @Test
+    void shouldFindPersonByLongId() {
+        webTestClient.get().uri("/api/reactive/persons/{id}", LONG_ID.asLong())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(LONG_ID.asString())
+                .jsonPath("$.name").isEqualTo("Reactive Long")
+                .jsonPath("$.age").isEqualTo(42);
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnknownId() {
+        webTestClient.get().uri("/api/reactive/persons/{id}", "reactive-missing")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}
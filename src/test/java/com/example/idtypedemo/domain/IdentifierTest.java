@@ -42,6 +42,14 @@ class IdentifierTest {
         assertEquals(456L, id.asLong());
     }
     
+    @Test
+    void testOfStringKeepsNumericValueAsString() {
+        Identifier id = Identifier.ofString("456");
+        
+        assertEquals("456", id.getValue());
+        assertEquals(Identifier.Type.STRING, id.getType());
+    }
+    
     @Test
     void testAsLongThrowsExceptionForNonNumericString() {
         Identifier id = Identifier.of("abc123");
@@ -104,4 +104,35 @@ public class PersonDepartmentTest {
         assertEquals("Marketing", updatedPerson.getDepartment().getName(),
                 "Department name should match the new department");
     }
+
+    /**
+     * Test that a copy of a loaded Person shares no mutable state with it and is still not new.
+     */
+    @Test
+    @Transactional
+    public void testCopyPersonWithDepartment() {
+        Department department = Department.builder()
+                .name("Engineering")
+                .description("Software Engineering Department")
+                .build();
+        departmentRepository.save(department);
+        Person person = Person.builder()
+                .name("John Doe")
+                .email("john.doe@example.com")
+                .age(30)
+                .department(department)
+                .build();
+        personRepository.saveAndFlush(person);
+
+        Person copy = person.copy();
+        copy.setName("Jane Doe");
+        copy.getDepartment().setName("Marketing");
+
+        assertEquals(person.getId(), copy.getId(), "Copy should keep the ID");
+        assertEquals(person.getVersion(), copy.getVersion(), "Copy should keep the version");
+        assertFalse(copy.isNew(), "Copy of a persisted Person should not be new");
+        assertNotSame(person.getDepartment(), copy.getDepartment(), "Copy should not share the department");
+        assertEquals("John Doe", person.getName(), "Original name should be unchanged");
+        assertEquals("Engineering", person.getDepartment().getName(), "Original department should be unchanged");
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,97 @@
+package com.example.idtypedemo.replica;
+
+import com.example.idtypedemo.config.TestConfig;
+import com.example.idtypedemo.domain.Identifier;
+import com.example.idtypedemo.entity.Person;
+import com.example.idtypedemo.service.PersonService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routes between two in-memory H2 databases. Nothing replicates from the primary to the replica,
+ * so a row only visible on one of them shows which database served a read.
+ */
+@SpringBootTest(properties = {
+        "person.replica.enabled=true",
+        "person.replica.url=jdbc:h2:mem:replica-routing;DB_CLOSE_DELAY=-1",
+        "person.replica.initialize-schema=true",
+        "person.replica.read-your-writes-window=1h",
+        "person.near-cache.enabled=false",
+        "person.batch-loader.enabled=false"
+})
+@Import(TestConfig.class)
+class ReadReplicaRoutingTest {
+
+    @Autowired
+    private PersonService personService;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Test
+    void shouldWriteToPrimaryAndReadOnlyQueriesFromReplica() {
+        personService.save(person("replica-write", "Written"));
+        new JdbcTemplate(replicaDataSource).update(
+                "INSERT INTO person (id, name, version) VALUES ('replica-only', 'Replicated', 0)");
+
+        assertEquals(1, count(primaryDataSource, "replica-write"));
+        assertEquals(0, count(replicaDataSource, "replica-write"));
+        assertEquals(List.of(Identifier.of("replica-only")), ids(personService.findByName("Replicated")));
+        assertTrue(personService.findByName("Written").isEmpty());
+    }
+
+    @Test
+    void shouldReadRecentlyWrittenIdFromPrimary() {
+        personService.save(person("replica-recent", "Recent"));
+
+        assertEquals("Recent", personService.findById(Identifier.of("replica-recent")).orElseThrow().getName());
+    }
+
+    @Test
+    void shouldReadFromPrimaryForSessionThatWrote() {
+        String previous = ReplicaContext.bindSession("session-1");
+        try {
+            personService.save(person("replica-session", "Session"));
+
+            assertEquals(List.of(Identifier.of("replica-session")), ids(personService.findByName("Session")));
+        } finally {
+            ReplicaContext.restoreSession(previous);
+        }
+
+        previous = ReplicaContext.bindSession("session-2");
+        try {
+            assertTrue(personService.findByName("Session").isEmpty());
+        } finally {
+            ReplicaContext.restoreSession(previous);
+        }
+    }
+
+    private static Person person(String id, String name) {
+        return Person.builder()
+                .id(Identifier.of(id))
+                .name(name)
+                .build();
+    }
+
+    private static int count(DataSource dataSource, String id) {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT count(*) FROM person WHERE id = ?", Integer.class, id);
+    }
+
+    private static List<Identifier> ids(List<Person> persons) {
+        return persons.stream().map(Person::getId).toList();
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.idtypedemo.replica;
+
+import com.example.idtypedemo.domain.Identifier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaLagGuardTest {
+
+    private final ReplicaLagGuard guard = new ReplicaLagGuard(Duration.ofMinutes(1), 100);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        ReplicaContext.restoreSession(null);
+    }
+
+    @Test
+    void shouldRecordWriteOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        guard.recordWriteAfterCommit(Identifier.of("p-1"));
+        assertFalse(guard.isRecentlyWritten(Identifier.of("p-1")));
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        assertTrue(guard.isRecentlyWritten(Identifier.of("p-1")));
+        assertFalse(guard.isRecentlyWritten(Identifier.of("p-2")));
+    }
+
+    @Test
+    void shouldRecordBulkWritesOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        ReplicaContext.bindSession("importer");
+
+        guard.recordWritesAfterCommit(List.of(Identifier.of("p-1"), Identifier.of(2L)));
+        assertFalse(guard.isRecentlyWritten(Identifier.of("p-1")));
+        assertFalse(guard.isPrimaryRequired());
+
+        assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+        TransactionSynchronizationManager.getSynchronizations().get(0).afterCommit();
+        assertTrue(guard.isRecentlyWritten(Identifier.of("p-1")));
+        assertTrue(guard.isRecentlyWritten(Identifier.of(2L)));
+        assertTrue(guard.isPrimaryRequired());
+    }
+
+    @Test
+    void shouldRequirePrimaryForWritingSessionOnly() {
+        ReplicaContext.bindSession("writer");
+        guard.recordWriteAfterCommit(Identifier.of("p-1"));
+        assertTrue(guard.isPrimaryRequired());
+
+        ReplicaContext.bindSession("reader");
+        assertFalse(guard.isPrimaryRequired());
+        assertTrue(ReplicaContext.callOnPrimary(guard::isPrimaryRequired));
+        assertFalse(guard.isPrimaryRequired());
+    }
+
+    @Test
+    void shouldForgetWritesAfterWindow() {
+        ReplicaLagGuard shortWindow = new ReplicaLagGuard(Duration.ZERO, 100);
+
+        shortWindow.recordWriteAfterCommit(Identifier.of("p-1"));
+
+        assertFalse(shortWindow.isRecentlyWritten(Identifier.of("p-1")));
+    }
+
+    @Test
+    void disabledGuardShouldTrackNothing() {
+        ReplicaLagGuard disabled = ReplicaLagGuard.disabled();
+        ReplicaContext.bindSession("writer");
+
+        disabled.recordWriteAfterCommit(Identifier.of("p-1"));
+
+        assertFalse(disabled.isRecentlyWritten(Identifier.of("p-1")));
+        assertFalse(disabled.isPrimaryRequired());
+    }
+}
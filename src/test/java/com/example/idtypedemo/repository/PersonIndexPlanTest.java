@@ -0,0 +1,61 @@
+package com.example.idtypedemo.repository;
+
+import com.example.idtypedemo.config.TestConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks with H2's EXPLAIN that the lookups on person columns use their index instead of a full scan.
+ */
+@DataJpaTest
+@ActiveProfiles("h2")
+@Import(TestConfig.class)
+class PersonIndexPlanTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void findByNameShouldUseIndex() {
+        assertUsesIndex("SELECT * FROM person WHERE name = 'x'", "idx_person_name");
+    }
+
+    @Test
+    void findByEmailShouldUseIndex() {
+        assertUsesIndex("SELECT * FROM person WHERE email = 'x'", "idx_person_email");
+    }
+
+    @Test
+    void findByAgeGreaterThanShouldUseIndex() {
+        assertUsesIndex("SELECT * FROM person WHERE age > 80", "idx_person_age");
+    }
+
+    @Test
+    void departmentLookupShouldUseIndex() {
+        assertUsesIndex("SELECT * FROM person WHERE department_id = 'x'", "idx_person_department");
+    }
+
+    @Test
+    void tenantScopedLookupShouldUseCompositeIndex() {
+        assertUsesIndex("SELECT * FROM person WHERE _tenant_id = 't'", "idx_person_tenant_id");
+        assertUsesIndex("SELECT * FROM person WHERE _tenant_id = 't' ORDER BY id", "idx_person_tenant_id");
+    }
+
+    private void assertUsesIndex(String sql, String index) {
+        String plan = String.valueOf(entityManager.getEntityManager()
+                .createNativeQuery("EXPLAIN " + sql)
+                .getSingleResult())
+                .toLowerCase(Locale.ROOT);
+
+        assertFalse(plan.contains("tablescan"), "full scan for " + sql + ":\n" + plan);
+        assertTrue(plan.contains(index), index + " not used for " + sql + ":\n" + plan);
+    }
+}
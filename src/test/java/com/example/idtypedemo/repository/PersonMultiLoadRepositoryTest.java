@@ -0,0 +1,121 @@
+package com.example.idtypedemo.repository;
+
+import com.example.idtypedemo.config.TestConfig;
+import com.example.idtypedemo.domain.Identifier;
+import com.example.idtypedemo.entity.Department;
+import com.example.idtypedemo.entity.Person;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "person.multi-load.batch-size=2"
+})
+@ActiveProfiles("h2")
+@Import(TestConfig.class)
+class PersonMultiLoadRepositoryTest {
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void findAllByIdInOrder_ReturnsOneElementPerIdInOrder() {
+        persist(Identifier.of(501L), "First");
+        persist(Identifier.of("multi-b"), "Second");
+        entityManager.clear();
+
+        List<Person> persons = personRepository.findAllByIdInOrder(List.of(
+                Identifier.of("multi-b"), Identifier.of("missing"), Identifier.of(501L)));
+
+        assertEquals(3, persons.size());
+        assertEquals("Second", persons.get(0).getName());
+        assertNull(persons.get(1));
+        assertEquals("First", persons.get(2).getName());
+    }
+
+    @Test
+    void findAllByIdInOrder_MatchesNumericStringsAndLongs() {
+        persist(Identifier.of(502L), "Numeric");
+        entityManager.clear();
+
+        List<Person> persons = personRepository.findAllByIdInOrder(List.of(Identifier.of("502"), Identifier.of(502L)));
+
+        assertNotNull(persons.get(0));
+        assertSame(persons.get(0), persons.get(1));
+        assertEquals(1, personRepository.findAllById(List.of(Identifier.of("502"), Identifier.of(502L))).size());
+    }
+
+    @Test
+    void findAllByIdAsMap_IsKeyedByTheGivenIds() {
+        persist(Identifier.of(503L), "Keyed");
+        entityManager.clear();
+        Identifier given = Identifier.of("503");
+
+        Map<Identifier, Person> persons = personRepository.findAllByIdAsMap(List.of(given, Identifier.of("missing")));
+
+        assertEquals(1, persons.size());
+        assertEquals("Keyed", persons.get(given).getName());
+    }
+
+    @Test
+    void findAllById_ReturnsManagedPersonsWithoutQuerying() {
+        Person first = persist(Identifier.of(504L), "Managed 1");
+        Person second = persist(Identifier.of(505L), "Managed 2");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<Person> persons = personRepository.findAllById(List.of(Identifier.of(505L), Identifier.of(504L)));
+
+        assertSame(second, persons.get(0));
+        assertSame(first, persons.get(1));
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findAllById_LoadsDepartmentsAndAllBatches() {
+        Department department = entityManager.persist(Department.builder().name("Multi Load").build());
+        List<Identifier> ids = new ArrayList<>();
+        for (long i = 510; i < 515; i++) {
+            ids.add(persist(Identifier.of(i), "Batched " + i, department).getId());
+        }
+        entityManager.clear();
+
+        List<Person> persons = personRepository.findAllById(ids);
+
+        assertEquals(5, persons.size());
+        assertTrue(persons.stream().allMatch(person -> Hibernate.isInitialized(person.getDepartment())));
+        assertEquals(Arrays.asList("Batched 510", "Batched 511", "Batched 512", "Batched 513", "Batched 514"),
+                persons.stream().map(Person::getName).toList());
+    }
+
+    private Person persist(Identifier id, String name) {
+        return persist(id, name, null);
+    }
+
+    private Person persist(Identifier id, String name, Department department) {
+        Person person = entityManager.persist(Person.builder().id(id).name(name).department(department).build());
+        entityManager.flush();
+        return person;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.idtypedemo.repository;
+
+import com.example.idtypedemo.config.TestConfig;
+import com.example.idtypedemo.domain.view.PersonSummary;
+import com.example.idtypedemo.entity.Department;
+import com.example.idtypedemo.entity.Person;
+import com.example.idtypedemo.service.PersonService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Asserts the number of SQL statements needed to list 1,000 persons spread over 20 departments.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(TestConfig.class)
+class PersonQueryCountTest {
+
+    private static final int PERSONS = 1_000;
+    private static final int DEPARTMENTS = 20;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private PersonService personService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private SessionFactory sessionFactory;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        if (departmentRepository.findByName("Query Count 0") == null) {
+            List<Department> departments = new ArrayList<>();
+            for (int i = 0; i < DEPARTMENTS; i++) {
+                departments.add(Department.builder().name("Query Count " + i).build());
+            }
+            departmentRepository.saveAll(departments);
+            List<Person> persons = new ArrayList<>();
+            for (int i = 0; i < PERSONS; i++) {
+                persons.add(Person.builder()
+                        .name("Query Count " + i)
+                        .department(departments.get(i % DEPARTMENTS))
+                        .build());
+            }
+            personRepository.saveAll(persons);
+        }
+        // Start from a cold second-level cache, so every department has to come from the database
+        sessionFactory.getCache().evictAllRegions();
+        sessionFactory.getStatistics().clear();
+    }
+
+    @Test
+    void listingShouldFetchDepartmentsInTheSameQuery() throws Exception {
+        Statistics statistics = sessionFactory.getStatistics();
+
+        List<Person> persons = personService.findAll();
+        // Serialized outside the transaction: an uninitialized proxy would fail here
+        String json = objectMapper.writeValueAsString(persons);
+
+        assertTrue(persons.size() >= PERSONS);
+        assertTrue(json.contains("Query Count 0"));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void summariesShouldNeedOneQuery() {
+        Statistics statistics = sessionFactory.getStatistics();
+
+        List<PersonSummary> summaries = personService.findAllSummaries();
+
+        assertTrue(summaries.size() >= PERSONS);
+        assertTrue(summaries.stream().anyMatch(summary -> summary.departmentName() != null));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void lazyDepartmentsShouldBeLoadedInBatches() {
+        Statistics statistics = sessionFactory.getStatistics();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (Person person : personRepository.findAll()) {
+                if (person.getDepartment() != null) {
+                    person.getDepartment().getName();
+                }
+            }
+        });
+
+        long statements = statistics.getPrepareStatementCount();
+        long departments = departmentRepository.count();
+        // One query for the persons, then one per batch of 100 departments instead of one per department
+        assertTrue(statements <= 1 + (departments + 99) / 100, statements + " statements for " + departments + " departments");
+    }
+}
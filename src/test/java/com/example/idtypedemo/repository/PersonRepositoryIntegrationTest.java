@@ -1,6 +1,7 @@
 package com.example.idtypedemo.repository;
 
 import com.example.idtypedemo.config.IdentifierProperties;
+import com.example.idtypedemo.config.TestConfig;
 import com.example.idtypedemo.domain.Identifier;
 import com.example.idtypedemo.entity.Person;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,6 +11,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
@@ -28,6 +30,7 @@ import static org.junit.jupiter.api.Assertions.*;
 @Disabled("Requires Docker")
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TestConfig.class)
 @Testcontainers
 class PersonRepositoryIntegrationTest {
 
@@ -1,14 +1,20 @@
 package com.example.idtypedemo.repository;
 
 import com.example.idtypedemo.domain.Identifier;
+import com.example.idtypedemo.domain.view.PersonContact;
+import com.example.idtypedemo.entity.Department;
 import com.example.idtypedemo.entity.Person;
+import com.example.idtypedemo.entity.Tenant;
 import com.example.idtypedemo.config.TestConfig;
+import org.hibernate.Session;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -21,6 +27,9 @@ class PersonRepositoryTest {
     @Autowired
     private PersonRepository personRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     @Test
     void testSaveAndFindPersonWithLongId() {
         // Create a person with Long ID
@@ -93,4 +102,116 @@ class PersonRepositoryTest {
         // Check the ID type
         assertEquals(Identifier.Type.LONG, foundWithString.get().getId().getType());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testUpdateByIdentifierChecksVersionInSql() {
+        Person person = personRepository.saveAndFlush(Person.builder()
+                .id(Identifier.of(789L))
+                .name("Before Update")
+                .age(20)
+                .build());
+        Long version = person.getVersion();
+
+        // A stale version affects no rows
+        assertEquals(0, personRepository.updateByIdentifier(Identifier.of(789L), version + 1,
+                "Stale Update", null, 21, null, null));
+
+        // The current version updates the row and bumps the version
+        assertEquals(1, personRepository.updateByIdentifier(Identifier.of(789L), version,
+                "After Update", "after@example.com", 21, null, null));
+
+        Person updated = personRepository.findById(Identifier.of(789L)).orElseThrow();
+        assertEquals("After Update", updated.getName());
+        assertEquals(21, updated.getAge());
+        assertEquals(version + 1, updated.getVersion());
+        assertEquals(Optional.of(version + 1), personRepository.findVersionById(Identifier.of(789L)));
+    }
+
+    @Test
+    void testUpdateByIdentifierKeepsOmittedDepartmentAndTenant() {
+        Department department = entityManager.persist(Department.builder().name("Kept").build());
+        Tenant tenant = new Tenant();
+        tenant.setId(Identifier.of("update-tenant"));
+        personRepository.saveAndFlush(Person.builder()
+                .id(Identifier.of("update-keeps"))
+                .name("Before Update")
+                .department(department)
+                .tenant(tenant)
+                .build());
+
+        assertEquals(1, personRepository.updateByIdentifier(Identifier.of("update-keeps"), null,
+                "After Update", null, null, null, null));
+
+        Person updated = personRepository.findById(Identifier.of("update-keeps")).orElseThrow();
+        assertEquals("After Update", updated.getName());
+        assertEquals(department.getId(), updated.getDepartment().getId());
+        assertEquals(Identifier.of("update-tenant"), updated.getTenant().getId());
+    }
+
+    @Test
+    void testUpdateByIdentifierVersionsRowsWithoutVersion() {
+        personRepository.saveAndFlush(Person.builder()
+                .id(Identifier.of("legacy"))
+                .name("Legacy")
+                .build());
+        entityManager.getEntityManager()
+                .createNativeQuery("UPDATE person SET version = NULL WHERE id = 'legacy'")
+                .executeUpdate();
+
+        assertEquals(1, personRepository.updateByIdentifier(Identifier.of("legacy"), null,
+                "Versioned", null, null, null, null));
+
+        assertEquals(Optional.of(1L), personRepository.findVersionById(Identifier.of("legacy")));
+    }
+
+    @Test
+    void testDeleteByIdentifierReturnsAffectedRows() {
+        personRepository.saveAndFlush(Person.builder()
+                .id(Identifier.of("delete-me"))
+                .name("Delete Me")
+                .build());
+
+        assertEquals(0, personRepository.deleteByIdentifier(Identifier.of("missing"), null));
+        assertEquals(1, personRepository.deleteByIdentifier(Identifier.of("delete-me"), null));
+        assertFalse(personRepository.findById(Identifier.of("delete-me")).isPresent());
+    }
+
+    @Test
+    void testFindersReturnReadOnlyEntities() {
+        personRepository.saveAndFlush(Person.builder()
+                .id(Identifier.of("read-only"))
+                .name("Read Only")
+                .email("read-only@example.com")
+                .build());
+        entityManager.clear();
+
+        Person found = personRepository.findByEmail("read-only@example.com").get(0);
+        assertTrue(entityManager.getEntityManager().unwrap(Session.class).isReadOnly(found));
+
+        // Changes to read-only results are not flushed
+        found.setName("Changed");
+        entityManager.flush();
+        entityManager.clear();
+        assertEquals("Read Only", personRepository.findById(Identifier.of("read-only")).orElseThrow().getName());
+    }
+
+    @Test
+    void testFindersSupportProjections() {
+        personRepository.saveAndFlush(Person.builder()
+                .id(Identifier.of("projected"))
+                .name("Projected")
+                .email("projected@example.com")
+                .age(77)
+                .build());
+        entityManager.clear();
+
+        List<PersonContact> contacts = personRepository.findByAgeGreaterThan(76, PersonContact.class);
+
+        assertEquals(1, contacts.size());
+        assertEquals(Identifier.of("projected"), contacts.get(0).getId());
+        assertEquals("Projected", contacts.get(0).getName());
+        assertEquals("projected@example.com", contacts.get(0).getEmail());
+        assertEquals(1, personRepository.findByName("Projected", PersonContact.class).size());
+        assertEquals(1, personRepository.findByEmail("projected@example.com", PersonContact.class).size());
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.idtypedemo.repository;
+
+import com.example.idtypedemo.config.TestConfig;
+import com.example.idtypedemo.domain.Identifier;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that {@link Identifier} parameters, bound through the custom user type, neither defeat
+ * Hibernate's query plan cache nor produce varying SQL that would defeat JDBC statement caches.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.example.idtypedemo.repository.QueryPlanCacheTest$SqlCapture"
+})
+@Import(TestConfig.class)
+class QueryPlanCacheTest {
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void identifierParametersShouldReuseCachedPlan() {
+        personRepository.findByIdentifier(Identifier.of("warm-up"));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        SqlCapture.STATEMENTS.clear();
+
+        for (int i = 0; i < 100; i++) {
+            personRepository.findByIdentifier(i % 2 == 0 ? Identifier.of((long) i) : Identifier.of("id-" + i));
+        }
+
+        assertEquals(0, statistics.getQueryPlanCacheMissCount());
+        assertTrue(statistics.getQueryPlanCacheHitCount() >= 100,
+                "plan cache hits: " + statistics.getQueryPlanCacheHitCount());
+        assertEquals(1, SqlCapture.STATEMENTS.stream().distinct().count());
+    }
+
+    @Test
+    void inListsOfSimilarSizeShouldShareSql() {
+        SqlCapture.STATEMENTS.clear();
+
+        for (int size = 5; size <= 8; size++) {
+            personRepository.findExistingIds(ids(size));
+        }
+
+        assertEquals(4, SqlCapture.STATEMENTS.size());
+        assertEquals(1, SqlCapture.STATEMENTS.stream().distinct().count(), SqlCapture.STATEMENTS.toString());
+    }
+
+    private static List<Identifier> ids(int count) {
+        List<Identifier> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(Identifier.of("plan-" + i));
+        }
+        return ids;
+    }
+
+    /**
+     * Records the SQL of every statement Hibernate prepares.
+     */
+    public static class SqlCapture implements StatementInspector {
+
+        private static final long serialVersionUID = 1L;
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.idtypedemo.repository;
+
+import com.example.idtypedemo.config.IdentifierProperties;
+import com.example.idtypedemo.config.ShardingConfig;
+import com.example.idtypedemo.domain.Identifier;
+import com.example.idtypedemo.entity.Person;
+import com.example.idtypedemo.shard.ShardContext;
+import com.example.idtypedemo.shard.ShardResolver;
+import com.example.idtypedemo.shard.ShardRoutingDataSource;
+import com.example.idtypedemo.shard.ShardingProperties;
+import com.example.idtypedemo.type.DefaultDatabaseTypeResolver;
+import com.example.idtypedemo.type.IdentifierR2dbcCodec;
+import com.example.idtypedemo.type.IdentifierType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the sharded repository against three in-memory H2 databases.
+ */
+class ShardedPersonRepositoryTest {
+
+    private static final int SHARDS = 3;
+
+    private ShardRoutingDataSource dataSource;
+    private ShardedPersonRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        String run = UUID.randomUUID().toString();
+        ShardingProperties properties = new ShardingProperties();
+        properties.setEnabled(true);
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < SHARDS; i++) {
+            urls.add("jdbc:h2:mem:shard-" + i + "-" + run + ";DB_CLOSE_DELAY=-1");
+        }
+        properties.setUrls(urls);
+
+        IdentifierProperties identifierProperties = new IdentifierProperties();
+        identifierProperties.setDefaultType("STRING");
+        IdentifierR2dbcCodec codec = new IdentifierR2dbcCodec(
+                new IdentifierType(new DefaultDatabaseTypeResolver(), identifierProperties).getSettings());
+
+        ShardingConfig config = new ShardingConfig();
+        dataSource = config.shardRoutingDataSource(properties);
+        repository = config.shardedPersonRepository(dataSource, config.shardResolver(properties), codec);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        repository.close();
+        dataSource.close();
+    }
+
+    @Test
+    void shouldStoreEachPersonOnlyOnItsShard() {
+        for (int i = 0; i < 30; i++) {
+            repository.save(person("p-" + i, "Person " + i));
+        }
+
+        long total = 0;
+        for (int shard = 0; shard < SHARDS; shard++) {
+            int current = shard;
+            List<String> ids = ShardContext.callOn(shard, () -> new JdbcTemplate(dataSource)
+                    .queryForList("SELECT id FROM person", String.class));
+            assertFalse(ids.isEmpty(), "shard " + shard + " is empty");
+            ids.forEach(id -> assertEquals(current, repository.shardOf(Identifier.of(id))));
+            total += ids.size();
+        }
+        assertEquals(30, total);
+        assertEquals(30, repository.count());
+    }
+
+    @Test
+    void shouldFindByIdOnOwningShard() {
+        repository.save(person("p-1", "Alice"));
+
+        Person found = repository.findById(Identifier.of("p-1")).orElseThrow();
+        assertEquals("Alice", found.getName());
+        assertEquals(Long.valueOf(0), found.getVersion());
+        assertTrue(repository.findById(Identifier.of("p-2")).isEmpty());
+    }
+
+    @Test
+    void shouldUpdateExistingPerson() {
+        Person saved = repository.save(person("p-1", "Alice"));
+        saved.setName("Alicia");
+
+        Person updated = repository.save(saved);
+
+        assertEquals("Alicia", updated.getName());
+        assertEquals(Long.valueOf(1), updated.getVersion());
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    void shouldRejectStaleOrMissingVersion() {
+        Person saved = repository.save(person("p-1", "Alice"));
+        saved.setName("Alicia");
+        repository.save(saved);
+
+        saved.setName("Stale");
+        assertThrows(OptimisticLockingFailureException.class, () -> repository.save(saved));
+        assertThrows(OptimisticLockingFailureException.class, () -> repository.save(person("p-1", "Again")));
+        Person unknown = person("p-2", "Unknown");
+        unknown.setVersion(3L);
+        assertThrows(OptimisticLockingFailureException.class, () -> repository.save(unknown));
+
+        assertEquals("Alicia", repository.findById(Identifier.of("p-1")).orElseThrow().getName());
+        assertTrue(repository.findById(Identifier.of("p-2")).isEmpty());
+    }
+
+    @Test
+    void shouldScatterGatherQueriesOverAllShards() {
+        for (int i = 0; i < 12; i++) {
+            repository.save(person("p-" + i, i % 2 == 0 ? "Even" : "Odd"));
+        }
+
+        List<Person> even = repository.findByName("Even");
+        assertEquals(6, even.size());
+        assertTrue(even.stream().allMatch(p -> "Even".equals(p.getName())));
+        assertEquals(12, repository.findAll().size());
+        assertEquals(List.of(Identifier.of("p-1"), Identifier.of("p-7")),
+                repository.findAllById(List.of(Identifier.of("p-1"), Identifier.of("p-7"), Identifier.of("missing")))
+                        .stream().map(Person::getId).sorted().toList());
+    }
+
+    @Test
+    void shouldDeleteOnOwningShard() {
+        repository.save(person("p-1", "Alice"));
+
+        assertTrue(repository.deleteById(Identifier.of("p-1")));
+        assertFalse(repository.deleteById(Identifier.of("p-1")));
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    void shouldRefuseConnectionsWithoutShard() {
+        assertThrows(IllegalStateException.class, dataSource::getConnection);
+        assertThrows(IllegalArgumentException.class, () -> repository.save(person(null, "Nobody")));
+    }
+
+    private static Person person(String id, String name) {
+        return Person.builder()
+                .id(id == null ? null : Identifier.of(id))
+                .name(name)
+                .build();
+    }
+}
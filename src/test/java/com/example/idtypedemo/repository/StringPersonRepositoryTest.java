@@ -6,7 +6,6 @@ import com.example.idtypedemo.entity.Person;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 
@@ -17,7 +16,6 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 @DataJpaTest
 @ActiveProfiles({"h2", "string-id"})
-@ComponentScan(basePackages = "com.example.idtypedemo")
 @Import(TestConfig.class)
 public class StringPersonRepositoryTest {
 
@@ -0,0 +1,92 @@
+package com.example.idtypedemo.repository;
+
+import com.example.idtypedemo.config.TestConfig;
+import com.example.idtypedemo.domain.Identifier;
+import com.example.idtypedemo.entity.Person;
+import com.example.idtypedemo.entity.Tenant;
+import com.example.idtypedemo.tenant.TenantContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@Import({TestConfig.class, TenantPersonRepository.class})
+class TenantPersonRepositoryTest {
+
+    private static final Identifier ACME = Identifier.of("acme");
+    private static final Identifier GLOBEX = Identifier.of("globex");
+
+    @Autowired
+    private TenantPersonRepository tenantPersonRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        persist("acme-1", "Alice", ACME);
+        persist("acme-2", "Bob", ACME);
+        persist("globex-1", "Alice", GLOBEX);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void shouldOnlySeePersonsOfCurrentTenant() {
+        List<Person> acme = TenantContext.callAs(ACME, tenantPersonRepository::findAll);
+        List<Person> globex = TenantContext.callAs(GLOBEX, tenantPersonRepository::findAll);
+
+        assertEquals(List.of(Identifier.of("acme-1"), Identifier.of("acme-2")), acme.stream().map(Person::getId).toList());
+        assertEquals(List.of(Identifier.of("globex-1")), globex.stream().map(Person::getId).toList());
+        assertEquals(2L, (long) TenantContext.callAs(ACME, tenantPersonRepository::count));
+        assertEquals(1, TenantContext.callAs(GLOBEX, () -> tenantPersonRepository.findByName("Alice")).size());
+    }
+
+    @Test
+    void shouldNotFindPersonOfOtherTenantById() {
+        assertTrue(TenantContext.callAs(ACME, () -> tenantPersonRepository.findById(Identifier.of("acme-1"))).isPresent());
+        assertTrue(TenantContext.callAs(GLOBEX, () -> tenantPersonRepository.findById(Identifier.of("acme-1"))).isEmpty());
+    }
+
+    @Test
+    void shouldNotFilterQueriesOutsideTenantScope() {
+        TenantContext.callAs(ACME, tenantPersonRepository::findAll);
+
+        assertEquals(3, personRepository.count());
+        assertThrows(IllegalStateException.class, tenantPersonRepository::findAll);
+    }
+
+    @Test
+    void shouldAssignCurrentTenantToNewPersons() {
+        TenantContext.callAs(GLOBEX, () -> personRepository.saveAndFlush(Person.builder()
+                .id(Identifier.of("globex-2"))
+                .name("Carol")
+                .build()));
+        entityManager.clear();
+
+        assertEquals(GLOBEX, personRepository.findById(Identifier.of("globex-2")).orElseThrow().getTenant().getId());
+        assertEquals(2L, (long) TenantContext.callAs(GLOBEX, tenantPersonRepository::count));
+    }
+
+    private void persist(String id, String name, Identifier tenantId) {
+        Tenant tenant = new Tenant();
+        tenant.setId(tenantId);
+        entityManager.persist(Person.builder()
+                .id(Identifier.of(id))
+                .name(name)
+                .tenant(tenant)
+                .build());
+    }
+}
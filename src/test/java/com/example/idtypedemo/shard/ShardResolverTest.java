@@ -0,0 +1,42 @@
+package com.example.idtypedemo.shard;
+
+import com.example.idtypedemo.domain.Identifier;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardResolverTest {
+
+    private final ShardResolver resolver = new ShardResolver(4);
+
+    @Test
+    void shouldSpreadConsecutiveLongIdsOverAllShards() {
+        int[] counts = new int[4];
+        for (long id = 1; id <= 10_000; id++) {
+            counts[resolver.shardOf(Identifier.of(id))]++;
+        }
+        for (int count : counts) {
+            assertTrue(count > 2_000 && count < 3_000, "uneven distribution: " + count);
+        }
+    }
+
+    @Test
+    void shouldPlaceNumericStringWithEqualLong() {
+        for (long id = 0; id < 100; id++) {
+            assertEquals(resolver.shardOf(Identifier.of(id)), resolver.shardOf(Identifier.of(Long.toString(id))));
+        }
+    }
+
+    @Test
+    void shouldKeepHashesStable() {
+        // Pinned values: a changed hash would move existing rows to other shards
+        assertEquals(-806315022, ShardResolver.hash(Identifier.of("person-1")));
+        assertEquals(-1908254260, ShardResolver.hash(Identifier.of(42L)));
+        assertEquals(Math.floorMod(-806315022, 4), resolver.shardOf(Identifier.of("person-1")));
+    }
+
+    @Test
+    void shouldRejectNoShards() {
+        assertThrows(IllegalArgumentException.class, () -> new ShardResolver(0));
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.idtypedemo.type;
+
+import com.example.idtypedemo.config.IdentifierSettings;
+import com.example.idtypedemo.domain.Identifier;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.type.descriptor.java.LongJavaType;
+import org.hibernate.type.descriptor.java.StringJavaType;
+import org.hibernate.type.descriptor.java.UUIDJavaType;
+import org.hibernate.type.descriptor.jdbc.JdbcTypeIndicators;
+import org.hibernate.type.spi.TypeConfiguration;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Types;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdentifierJavaTypeDescriptorTest {
+
+    private static final IdentifierSettings LONG_SETTINGS = IdentifierSettings.DEFAULTS;
+    private static final IdentifierSettings STRING_SETTINGS =
+            new IdentifierSettings(Identifier.Type.STRING, true, true, true, 64);
+
+    private final IdentifierJavaTypeDescriptor javaType = new IdentifierJavaTypeDescriptor(LONG_SETTINGS);
+
+    @Test
+    void getRecommendedJdbcType_FollowsConfiguredType() {
+        assertEquals(Types.BIGINT, new IdentifierJavaTypeDescriptor(LONG_SETTINGS)
+                .getRecommendedJdbcType(indicators()).getDefaultSqlTypeCode());
+        assertEquals(Types.VARCHAR, new IdentifierJavaTypeDescriptor(STRING_SETTINGS)
+                .getRecommendedJdbcType(indicators()).getDefaultSqlTypeCode());
+    }
+
+    @Test
+    void getDefaultSqlLength_UsesConfiguredStringLength() {
+        IdentifierJavaTypeDescriptor stringJavaType = new IdentifierJavaTypeDescriptor(STRING_SETTINGS);
+
+        assertEquals(64L, stringJavaType.getDefaultSqlLength(new H2Dialect(),
+                stringJavaType.getRecommendedJdbcType(indicators())));
+    }
+
+    @Test
+    void unwrap_SupportsNumericAndBinaryTargets() {
+        Identifier id = Identifier.of("42");
+
+        assertEquals(Long.valueOf(42L), javaType.unwrap(id, long.class, null));
+        assertEquals(Long.valueOf(42L), javaType.unwrap(id, Number.class, null));
+        assertEquals(Integer.valueOf(42), javaType.unwrap(id, Integer.class, null));
+        assertEquals(BigDecimal.valueOf(42L), javaType.unwrap(id, BigDecimal.class, null));
+        assertArrayEquals("42".getBytes(StandardCharsets.UTF_8), javaType.unwrap(id, byte[].class, null));
+        assertSame(id, javaType.unwrap(id, Identifier.class, null));
+    }
+
+    @Test
+    void unwrap_WhenNotNumeric_ThrowsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> javaType.unwrap(Identifier.of("abc"), Long.class, null));
+    }
+
+    @Test
+    void wrap_ReadsNumbersStringsAndBytes() {
+        assertEquals(Identifier.of(42L), javaType.wrap(42, null));
+        assertEquals(Identifier.of(42L), javaType.wrap("42", null));
+        assertTrue(javaType.wrap("42".getBytes(StandardCharsets.UTF_8), null).isLong());
+        assertEquals(Identifier.of("abc"), javaType.wrap("abc".getBytes(StandardCharsets.UTF_8), null));
+    }
+
+    @Test
+    void isWider_AcceptsIntegralAndStringTypes() {
+        assertTrue(javaType.isWider(LongJavaType.INSTANCE));
+        assertTrue(javaType.isWider(StringJavaType.INSTANCE));
+        assertFalse(javaType.isWider(UUIDJavaType.INSTANCE));
+    }
+
+    private static JdbcTypeIndicators indicators() {
+        TypeConfiguration typeConfiguration = new TypeConfiguration();
+        return new JdbcTypeIndicators() {
+            @Override
+            public TypeConfiguration getTypeConfiguration() {
+                return typeConfiguration;
+            }
+
+            @Override
+            public Dialect getDialect() {
+                return new H2Dialect();
+            }
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.idtypedemo.type;
+
+import com.example.idtypedemo.config.IdentifierProperties;
+import com.example.idtypedemo.domain.Identifier;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdentifierR2dbcCodecTest {
+
+    private static IdentifierR2dbcCodec codec(String defaultType) {
+        IdentifierProperties properties = new IdentifierProperties();
+        properties.setDefaultType(defaultType);
+        return new IdentifierR2dbcCodec(new IdentifierType(new DefaultDatabaseTypeResolver(), properties).getSettings());
+    }
+
+    @Test
+    void encode_WhenLongConfigured_BindsLong() {
+        IdentifierR2dbcCodec codec = codec("LONG");
+
+        assertEquals(Long.class, codec.encodedType());
+        assertEquals(42L, codec.encode(Identifier.of(42L)));
+    }
+
+    @Test
+    void encode_WhenLongConfigured_BindsNumericStringAsLong() {
+        IdentifierR2dbcCodec codec = codec("LONG");
+
+        assertEquals(42L, codec.encode(Identifier.ofString("42")));
+        assertEquals("abc", codec.encode(Identifier.of("abc")));
+    }
+
+    @Test
+    void encode_WhenStringConfigured_BindsString() {
+        IdentifierR2dbcCodec codec = codec("STRING");
+
+        assertEquals(String.class, codec.encodedType());
+        assertEquals("42", codec.encode(Identifier.of(42L)));
+        assertEquals("abc", codec.encode(Identifier.of("abc")));
+    }
+
+    @Test
+    void encode_WhenNull_ReturnsNull() {
+        assertNull(codec("LONG").encode(null));
+    }
+
+    @Test
+    void decode_ConvertsColumnValues() {
+        IdentifierR2dbcCodec codec = codec("STRING");
+
+        assertEquals(Identifier.of(42L), codec.decode(42L));
+        assertEquals(Identifier.of(42L), codec.decode(42));
+        assertEquals(Identifier.of(42L), codec.decode("42"));
+        assertEquals(Identifier.of("abc"), codec.decode("abc"));
+        assertNull(codec.decode((Object) null));
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.idtypedemo.type;
+
+import com.example.idtypedemo.config.TestConfig;
+import com.example.idtypedemo.domain.Identifier;
+import com.example.idtypedemo.entity.Department;
+import com.example.idtypedemo.entity.Person;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.mapping.AttributeMapping;
+import org.hibernate.metamodel.mapping.BasicValuedModelPart;
+import org.hibernate.metamodel.mapping.EmbeddableValuedModelPart;
+import org.hibernate.metamodel.mapping.ModelPart;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.CustomType;
+import org.hibernate.type.descriptor.java.JavaType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that every {@code Identifier} attribute is mapped by the one Spring-managed {@link IdentifierType}.
+ */
+@SpringBootTest
+@Import(TestConfig.class)
+class IdentifierTypeContributorTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private IdentifierType identifierType;
+
+    @Test
+    void allIdentifierAttributesShouldShareTheSpringManagedType() {
+        EntityPersister person = persister(Person.class);
+        EntityPersister department = persister(Department.class);
+        AttributeMapping tenant = person.findAttributeMapping("tenant");
+        ModelPart tenantId = ((EmbeddableValuedModelPart) tenant).getEmbeddableTypeDescriptor().findSubPart("id", null);
+
+        assertSame(identifierType, userType(person.getIdentifierMapping()));
+        assertSame(identifierType, userType(department.getIdentifierMapping()));
+        assertSame(identifierType, userType(tenantId));
+    }
+
+    @Test
+    void javaTypeRegistryShouldHoldTheIdentifierJavaType() {
+        JavaType<?> descriptor = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getTypeConfiguration()
+                .getJavaTypeRegistry()
+                .getDescriptor(Identifier.class);
+
+        assertSame(identifierType.getExpressibleJavaType(), descriptor);
+    }
+
+    @Test
+    void identifierAttributesShouldUseTheIdentifierJavaType() {
+        CustomType<?> type = customType(persister(Person.class).getIdentifierMapping());
+
+        assertSame(identifierType.getExpressibleJavaType(), type.getJavaTypeDescriptor());
+        assertEquals(identifierType.getSqlType(), type.getJdbcType().getDefaultSqlTypeCode());
+    }
+
+    private EntityPersister persister(Class<?> entityClass) {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(entityClass);
+    }
+
+    private static Object userType(ModelPart part) {
+        return customType(part).getUserType();
+    }
+
+    private static CustomType<?> customType(ModelPart part) {
+        return assertInstanceOf(CustomType.class, ((BasicValuedModelPart) part).getJdbcMapping());
+    }
+}
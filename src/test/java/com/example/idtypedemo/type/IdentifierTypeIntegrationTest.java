@@ -6,6 +6,10 @@ import com.example.idtypedemo.domain.Identifier;
 import com.example.idtypedemo.entity.Person;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.mapping.BasicValuedModelPart;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.CustomType;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -35,6 +39,21 @@ public class IdentifierTypeIntegrationTest {
     @Qualifier("repositoryTestIdentifierProperties")
     private IdentifierProperties identifierProperties;
 
+    @Autowired
+    private IdentifierType identifierType;
+
+    @Test
+    void jpaSliceShouldMapIdentifiersWithTheConfiguredType() {
+        EntityPersister persister = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(Person.class);
+        CustomType<?> type = assertInstanceOf(CustomType.class,
+                ((BasicValuedModelPart) persister.getIdentifierMapping()).getJdbcMapping());
+
+        assertSame(identifierType, type.getUserType());
+    }
+
     @Test
     void whenConfiguredForLongType_thenShouldUseBigintColumn() throws SQLException {
         // Create and save an entity with a numeric ID
@@ -1 +1,186 @@
- 
\ No newline at end of file
+package com.example.idtypedemo.type;
+
+import com.example.idtypedemo.config.IdentifierProperties;
+import com.example.idtypedemo.domain.Identifier;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class IdentifierTypeTest {
+
+    private static IdentifierType identifierType(String defaultType) {
+        IdentifierProperties properties = new IdentifierProperties();
+        properties.setDefaultType(defaultType);
+        return new IdentifierType(new DefaultDatabaseTypeResolver(), properties);
+    }
+
+    @Test
+    void getSqlType_WhenLongConfigured_ReturnsBigint() {
+        assertEquals(Types.BIGINT, identifierType("LONG").getSqlType());
+    }
+
+    @Test
+    void getSqlType_WhenStringConfigured_ReturnsVarchar() {
+        assertEquals(Types.VARCHAR, identifierType("string").getSqlType());
+    }
+
+    @Test
+    void getSqlType_WhenNativeTypesDisabled_ReturnsVarchar() {
+        IdentifierType type = identifierType("LONG");
+        ReflectionTestUtils.setField(type, "useNativeTypes", false);
+
+        assertEquals(Types.VARCHAR, type.getSqlType());
+    }
+
+    @Test
+    void getSqlType_WhenTypeUnsupported_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> identifierType("UUID").getSqlType());
+    }
+
+    @Test
+    void nullSafeSet_WhenLongConfigured_BindsLong() throws Exception {
+        PreparedStatement st = mock(PreparedStatement.class);
+
+        identifierType("LONG").nullSafeSet(st, Identifier.of(42L), 1, null);
+
+        verify(st).setLong(1, 42L);
+    }
+
+    @Test
+    void nullSafeSet_WhenLongConfigured_BindsNumericStringAsLong() throws Exception {
+        PreparedStatement st = mock(PreparedStatement.class);
+
+        identifierType("LONG").nullSafeSet(st, Identifier.of("42"), 1, null);
+
+        verify(st).setLong(1, 42L);
+    }
+
+    @Test
+    void nullSafeSet_WhenStringConfigured_BindsString() throws Exception {
+        PreparedStatement st = mock(PreparedStatement.class);
+
+        identifierType("STRING").nullSafeSet(st, Identifier.of(42L), 1, null);
+
+        verify(st).setString(1, "42");
+    }
+
+    @Test
+    void nullSafeSet_WhenNull_BindsNullWithColumnType() throws Exception {
+        PreparedStatement st = mock(PreparedStatement.class);
+
+        identifierType("LONG").nullSafeSet(st, null, 1, null);
+
+        verify(st).setNull(1, Types.BIGINT);
+    }
+
+    @Test
+    void disassemble_WhenLong_ReturnsLong() {
+        assertEquals(42L, identifierType("LONG").disassemble(Identifier.of(42L)));
+    }
+
+    @Test
+    void disassemble_WhenString_ReturnsString() {
+        String value = new String("abc");
+
+        assertSame(value, identifierType("STRING").disassemble(Identifier.of(value)));
+    }
+
+    @Test
+    void assemble_RestoresOriginalType() {
+        IdentifierType type = identifierType("STRING");
+
+        Identifier longId = type.assemble(type.disassemble(Identifier.of(42L)), null);
+        Identifier stringId = type.assemble(type.disassemble(Identifier.of("abc")), null);
+
+        assertTrue(longId.isLong());
+        assertEquals(42L, longId.asLong());
+        assertTrue(stringId.isString());
+        assertEquals("abc", stringId.asString());
+        assertNull(type.assemble(null, null));
+    }
+
+    @Test
+    void assemble_WhenAutoConvertEnabled_KeepsNumericStringIdentifier() {
+        IdentifierProperties properties = new IdentifierProperties();
+        properties.setDefaultType("LONG");
+        properties.setAutoConvertStringToLong(true);
+        IdentifierType type = new IdentifierType(new DefaultDatabaseTypeResolver(), properties);
+        Object previous = ReflectionTestUtils.getField(Identifier.class, "properties");
+        ReflectionTestUtils.setField(Identifier.class, "properties", properties);
+        try {
+            Identifier assembled = type.assemble("42", null);
+
+            assertTrue(assembled.isString());
+            assertEquals("42", assembled.getValue());
+        } finally {
+            ReflectionTestUtils.setField(Identifier.class, "properties", previous);
+        }
+    }
+
+    @Test
+    void toSqlLiteral_WhenLongConfigured_RendersNumericLiteral() {
+        IdentifierType type = identifierType("LONG");
+
+        assertEquals("42", type.toSqlLiteral(Identifier.of(42L)));
+        assertEquals("42", type.toSqlLiteral(Identifier.of("42")));
+        assertEquals("'o''brien'", type.toSqlLiteral(Identifier.of("o'brien")));
+    }
+
+    @Test
+    void toSqlLiteral_WhenStringConfigured_RendersQuotedLiteral() {
+        assertEquals("'42'", identifierType("STRING").toSqlLiteral(Identifier.of(42L)));
+    }
+
+    @Test
+    void getExpressibleJavaType_ReturnsDescriptorOfTheMapping() {
+        IdentifierType type = identifierType("LONG");
+
+        assertInstanceOf(IdentifierJavaTypeDescriptor.class, type.getExpressibleJavaType());
+        assertSame(type.getExpressibleJavaType(), type.getExpressibleJavaType());
+        assertEquals(Identifier.of(42L), type.fromStringValue("42"));
+    }
+
+    @Test
+    void equals_WhenStringEquality_MatchesIdentifierEquals() {
+        IdentifierType type = identifierType("LONG");
+        Identifier[] ids = {
+                Identifier.of(123L), Identifier.of("123"), Identifier.of("0123"), Identifier.of(-123L),
+                Identifier.of("-123"), Identifier.of("abc"), Identifier.of(Long.MIN_VALUE), Identifier.of("0")
+        };
+
+        for (Identifier x : ids) {
+            for (Identifier y : ids) {
+                assertEquals(x.equals(y), type.equals(x, y), x + " vs " + y);
+            }
+            assertEquals(x.hashCode(), type.hashCode(x), x.toString());
+        }
+        assertTrue(type.equals(null, null));
+        assertFalse(type.equals(Identifier.of(1L), null));
+        assertEquals(0, type.hashCode(null));
+    }
+
+    @Test
+    void equals_WhenStringEqualityDisabled_ComparesTypeAndValue() {
+        IdentifierProperties properties = new IdentifierProperties();
+        properties.setDefaultType("LONG");
+        properties.setStringEqualityCheck(false);
+        IdentifierType type = new IdentifierType(new DefaultDatabaseTypeResolver(), properties);
+
+        assertFalse(type.equals(Identifier.of(123L), Identifier.of("123")));
+        assertTrue(type.equals(Identifier.of(123L), Identifier.of(123L)));
+        assertEquals(Objects.hash(123L, Identifier.Type.LONG), type.hashCode(Identifier.of(123L)));
+    }
+
+    @Test
+    void decimalHashCode_MatchesStringHashCode() {
+        for (long value : new long[] {0, 7, -7, 10, 1234567890123L, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            assertEquals(Long.toString(value).hashCode(), IdentifierType.decimalHashCode(value));
+        }
+    }
+}
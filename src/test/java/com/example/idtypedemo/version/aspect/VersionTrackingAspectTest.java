@@ -2,7 +2,12 @@ package com.example.idtypedemo.version.aspect;
 
 import com.example.idtypedemo.version.collector.VersionInfoCollector;
 import com.example.idtypedemo.version.config.VersionTrackingProperties;
+import com.example.idtypedemo.version.contention.HotEntity;
+import com.example.idtypedemo.version.contention.HotEntityDetector;
 import com.example.idtypedemo.version.filter.BusinessStackTraceFilter;
+import com.example.idtypedemo.version.metrics.VersionMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.persistence.Version;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,6 +16,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -29,11 +36,18 @@ class VersionTrackingAspectTest {
     @Mock
     private ProceedingJoinPoint joinPoint;
 
+    private SimpleMeterRegistry meterRegistry;
+
+    private HotEntityDetector hotEntityDetector;
+
     private VersionTrackingAspect aspect;
 
     @BeforeEach
     void setUp() {
-        aspect = new VersionTrackingAspect(versionInfoCollector, stackTraceFilter, properties);
+        meterRegistry = new SimpleMeterRegistry();
+        hotEntityDetector = new HotEntityDetector(new VersionTrackingProperties());
+        aspect = new VersionTrackingAspect(versionInfoCollector, stackTraceFilter, properties,
+                new VersionMetrics(meterRegistry), hotEntityDetector);
     }
 
     @Test
@@ -93,6 +107,57 @@ class VersionTrackingAspectTest {
         assertEquals(entity, result);
         verify(versionInfoCollector, times(2)).getVersionValue(entity);
         verify(stackTraceFilter, never()).getFilteredStackTraceAsString();
+        assertNull(meterRegistry.find("version.tracking.bumps").functionCounter());
+    }
+
+    @Test
+    void shouldCountVersionBumpAndRecordDuration() throws Throwable {
+        TestEntity entity = new TestEntity();
+        when(properties.isEnabled()).thenReturn(true);
+        when(joinPoint.getArgs()).thenReturn(new Object[]{entity});
+        when(versionInfoCollector.hasVersionField(TestEntity.class)).thenReturn(true);
+        when(versionInfoCollector.getVersionValue(entity)).thenReturn(1L, 2L);
+        when(joinPoint.proceed()).thenReturn(entity);
+
+        aspect.trackVersion(joinPoint);
+
+        assertEquals(1.0, meterRegistry.get("version.tracking.bumps")
+                .tag("entity", TestEntity.class.getName()).functionCounter().count());
+        assertEquals(1L, meterRegistry.get("version.tracking.duration").timer().count());
+    }
+
+    @Test
+    void shouldCountOptimisticLockConflict() throws Throwable {
+        TestEntity entity = new TestEntity();
+        when(properties.isEnabled()).thenReturn(true);
+        when(joinPoint.getArgs()).thenReturn(new Object[]{entity});
+        when(versionInfoCollector.hasVersionField(TestEntity.class)).thenReturn(true);
+        when(joinPoint.proceed()).thenThrow(new OptimisticLockException("stale"));
+
+        assertThrows(OptimisticLockException.class, () -> aspect.trackVersion(joinPoint));
+
+        assertEquals(1.0, meterRegistry.get("version.tracking.conflicts")
+                .tag("entity", TestEntity.class.getName()).functionCounter().count());
+    }
+
+    @Test
+    void shouldReportHotEntityWithBusinessStack() throws Throwable {
+        TestEntity entity = new TestEntity();
+        when(properties.isEnabled()).thenReturn(true);
+        when(joinPoint.getArgs()).thenReturn(new Object[]{entity});
+        when(versionInfoCollector.hasVersionField(TestEntity.class)).thenReturn(true);
+        when(versionInfoCollector.getVersionValue(entity)).thenReturn(1L, 2L);
+        when(versionInfoCollector.getIdValue(entity)).thenReturn(42L);
+        when(stackTraceFilter.filterStackTrace()).thenReturn(new String[]{"com.example.service.Foo.bar"});
+        when(joinPoint.proceed()).thenReturn(entity);
+
+        aspect.trackVersion(joinPoint);
+
+        List<HotEntity> hot = hotEntityDetector.topHotEntities(1);
+        assertEquals(1, hot.size());
+        assertEquals("42", hot.get(0).id());
+        assertEquals(1, hot.get(0).contention());
+        assertEquals(List.of("com.example.service.Foo.bar"), hot.get(0).businessStack());
     }
 
     private static class TestEntity {
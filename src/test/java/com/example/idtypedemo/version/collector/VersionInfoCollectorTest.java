@@ -1,5 +1,6 @@
 package com.example.idtypedemo.version.collector;
 
+import jakarta.persistence.Id;
 import jakarta.persistence.Version;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -64,4 +65,21 @@ class VersionInfoCollectorTest {
         assertTrue(collector.hasVersionField(TestEntity.class));
         assertTrue(collector.hasVersionField(TestEntity.class));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void shouldReturnIdValueForEntityWithIdField() {
+        class TestEntity {
+            @Id
+            private String id = "abc";
+        }
+        assertEquals("abc", collector.getIdValue(new TestEntity()));
+    }
+
+    @Test
+    void shouldReturnNullIdForEntityWithoutIdField() {
+        class TestEntity {
+            private String id = "abc";
+        }
+        assertNull(collector.getIdValue(new TestEntity()));
+    }
+}
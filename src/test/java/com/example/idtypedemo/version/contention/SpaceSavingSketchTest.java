@@ -0,0 +1,109 @@
+package com.example.idtypedemo.version.contention;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpaceSavingSketchTest {
+
+    @Test
+    void shouldRejectNonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new SpaceSavingSketch<String, Object>(0, Object::new));
+    }
+
+    @Test
+    void shouldCountExactlyWhileUnderCapacity() {
+        SpaceSavingSketch<String, Object> sketch = new SpaceSavingSketch<>(4, Object::new);
+        sketch.offer("a");
+        sketch.offer("a");
+        sketch.offer("b");
+
+        List<SpaceSavingSketch.Counter<String, Object>> top = sketch.top(2);
+        assertEquals("a", top.get(0).getKey());
+        assertEquals(2, top.get(0).getCount());
+        assertEquals(0, top.get(0).getError());
+        assertEquals("b", top.get(1).getKey());
+    }
+
+    @Test
+    void shouldStayBoundedAndKeepHeavyHitters() {
+        SpaceSavingSketch<String, Object> sketch = new SpaceSavingSketch<>(8, Object::new);
+        for (int i = 0; i < 10_000; i++) {
+            sketch.offer("hot");
+            sketch.offer("cold-" + i);
+        }
+
+        assertEquals(8, sketch.size());
+        SpaceSavingSketch.Counter<String, Object> top = sketch.top(1).get(0);
+        assertEquals("hot", top.getKey());
+        assertTrue(top.getCount() - top.getError() <= 10_000);
+        assertTrue(top.getCount() >= 10_000);
+    }
+
+    @Test
+    void shouldInheritEvictedCountAsError() {
+        SpaceSavingSketch<String, Object> sketch = new SpaceSavingSketch<>(1, Object::new);
+        sketch.offer("a");
+        sketch.offer("a");
+
+        SpaceSavingSketch.Counter<String, Object> counter = sketch.offer("b");
+
+        assertEquals("b", counter.getKey());
+        assertEquals(3, counter.getCount());
+        assertEquals(2, counter.getError());
+    }
+
+    @Test
+    void shouldReportReassignmentToCallbackUnderLock() {
+        SpaceSavingSketch<String, Object> sketch = new SpaceSavingSketch<>(1, Object::new);
+        sketch.offer("a");
+        sketch.offer("a");
+        List<Long> seen = new ArrayList<>();
+
+        sketch.offer("b", (counter, count) -> seen.add(count - counter.getError()));
+        sketch.offer("b", (counter, count) -> seen.add(count - counter.getError()));
+
+        assertEquals(List.of(1L, 2L), seen);
+    }
+
+    @Test
+    void shouldKeepCapacityAndHeavyHittersAcrossStripes() {
+        SpaceSavingSketch<String, Object> sketch = new SpaceSavingSketch<>(1_000, Object::new);
+        for (int i = 0; i < 100_000; i++) {
+            sketch.offer("hot-" + (i % 5));
+            sketch.offer("cold-" + i);
+        }
+
+        assertEquals(1_000, sketch.size());
+        List<SpaceSavingSketch.Counter<String, Object>> top = sketch.top(5);
+        for (SpaceSavingSketch.Counter<String, Object> counter : top) {
+            assertTrue(counter.getKey().startsWith("hot-"), counter.getKey());
+            assertTrue(counter.getCount() >= 20_000);
+        }
+    }
+
+    @Test
+    void shouldEvictMinimumLikeFullScan() {
+        SpaceSavingSketch<Integer, Object> sketch = new SpaceSavingSketch<>(16, Object::new);
+        Map<Integer, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            int key = (int) Math.abs(random.nextGaussian() * 20);
+            SpaceSavingSketch.Counter<Integer, Object> counter = sketch.offer(key);
+            if (!expected.containsKey(key) && expected.size() >= 16) {
+                long min = expected.values().stream().mapToLong(Long::longValue).min().orElseThrow();
+                expected.values().remove(min);
+                expected.put(key, min);
+            }
+            expected.merge(key, 1L, Long::sum);
+            assertEquals(expected.get(key), counter.getCount());
+        }
+        assertEquals(16, sketch.size());
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.idtypedemo.version.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VersionMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private VersionMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new VersionMetrics(registry);
+    }
+
+    @Test
+    void shouldRegisterOneCounterPerEntityClass() {
+        metrics.recordVersionBump(Hot.class);
+        metrics.recordVersionBump(Hot.class);
+        metrics.recordVersionBump(Cold.class);
+
+        assertEquals(2.0, registry.get(VersionMetrics.VERSION_BUMPS).tag("entity", Hot.class.getName()).functionCounter().count());
+        assertEquals(1.0, registry.get(VersionMetrics.VERSION_BUMPS).tag("entity", Cold.class.getName()).functionCounter().count());
+    }
+
+    @Test
+    void shouldOrderHottestEntitiesByVersionBumps() {
+        metrics.recordVersionBump(Cold.class);
+        metrics.recordVersionBump(Hot.class);
+        metrics.recordVersionBump(Hot.class);
+        metrics.recordConflict(Hot.class);
+
+        List<EntityChurn> hottest = metrics.hottestEntities(1);
+
+        assertEquals(1, hottest.size());
+        assertEquals(Hot.class.getName(), hottest.get(0).entity());
+        assertEquals(2, hottest.get(0).versionBumps());
+        assertEquals(1, hottest.get(0).conflicts());
+    }
+
+    @Test
+    void shouldIncludeEntitiesWithConflictsOnly() {
+        metrics.recordVersionBump(Hot.class);
+        metrics.recordConflict(Cold.class);
+        metrics.recordConflict(Cold.class);
+
+        List<EntityChurn> hottest = metrics.hottestEntities(10);
+
+        assertEquals(List.of(
+                new EntityChurn(Hot.class.getName(), 1, 0),
+                new EntityChurn(Cold.class.getName(), 0, 2)), hottest);
+    }
+
+    @Test
+    void shouldNotLoseIncrementsUnderConcurrency() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8_000; i++) {
+            executor.execute(() -> metrics.recordVersionBump(Hot.class));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(8_000, metrics.hottestEntities(1).get(0).versionBumps());
+    }
+
+    @Test
+    void shouldRecordTimings() {
+        metrics.recordTrackDuration(1_000);
+        metrics.recordStackCapture(500);
+
+        assertEquals(1L, registry.get(VersionMetrics.TRACK_DURATION).timer().count());
+        assertEquals(1L, registry.get(VersionMetrics.STACK_CAPTURE_DURATION).timer().count());
+    }
+
+    private static class Hot {
+    }
+
+    private static class Cold {
+    }
+}